@@ -0,0 +1,72 @@
+package com.example.personalfinance.benchmark;
+
+import com.example.personalfinance.bean.response.AccountResponse;
+import com.example.personalfinance.entity.Account;
+import com.example.personalfinance.entity.Transaction;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// getAccountsByUsername now aggregates in SQL; these keep the in-memory shapes measurable as a reference:
+// perAccount is the old loop over each account's transaction list, singlePass one sweep over everything
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AccountAggregationBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private BenchmarkData data;
+    private Map<Integer, List<Transaction>> byAccount;
+
+    @Setup
+    public void setUp() {
+        data = new BenchmarkData(size);
+        byAccount = new HashMap<>();
+        for (Transaction transaction : data.transactions) {
+            byAccount.computeIfAbsent(transaction.getAccount().getAccountId(), id -> new ArrayList<>()).add(transaction);
+        }
+    }
+
+    @Benchmark
+    public List<AccountResponse> perAccount() {
+        List<AccountResponse> responses = new ArrayList<>();
+        for (Account account : data.accounts) {
+            double totalExpenses = 0;
+            double totalIncome = 0;
+            for (Transaction transaction : byAccount.getOrDefault(account.getAccountId(), List.of())) {
+                if (transaction.getCategory().getType().equals("expense")) {
+                    totalExpenses += transaction.getAmount();
+                } else if (transaction.getCategory().getType().equals("income")) {
+                    totalIncome += transaction.getAmount();
+                }
+            }
+            responses.add(new AccountResponse(account.getAccountId(), account.getName(), account.getCurrentBalance(),
+                    account.getPaymentTypes(), totalExpenses, totalIncome));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public List<AccountResponse> singlePass() {
+        Map<Integer, double[]> totals = new HashMap<>();
+        for (Transaction transaction : data.transactions) {
+            double[] sums = totals.computeIfAbsent(transaction.getAccount().getAccountId(), id -> new double[2]);
+            sums["expense".equals(transaction.getCategory().getType()) ? 0 : 1] += transaction.getAmount();
+        }
+        List<AccountResponse> responses = new ArrayList<>(data.accounts.size());
+        for (Account account : data.accounts) {
+            double[] sums = totals.getOrDefault(account.getAccountId(), new double[2]);
+            responses.add(new AccountResponse(account.getAccountId(), account.getName(), account.getCurrentBalance(),
+                    account.getPaymentTypes(), sums[0], sums[1]));
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.personalfinance.benchmark;
+
+import com.example.personalfinance.entity.Account;
+import com.example.personalfinance.entity.Category;
+import com.example.personalfinance.entity.Transaction;
+import com.example.personalfinance.entity.User;
+import com.example.personalfinance.service.impl.DebtServiceImpl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Deterministic synthetic data shaped like a real user: a handful of accounts, ~20 categories,
+// two years of history with small expenses dominating and a few large incomes
+final class BenchmarkData {
+    static final long SEED = 42;
+    static final String[] PAYMENT_TYPES = {"Cash", "Debit Card", "Credit Card", "Bank Transfer", "E-Wallet"};
+    private static final String[] EXPENSE_CATEGORIES = {"Food", "Rent", "Transport", "Utilities", "Shopping",
+            "Health", "Entertainment", "Education", "Travel", "Insurance", "Gifts", "Subscriptions", "Other"};
+    private static final String[] INCOME_CATEGORIES = {"Salary", "Bonus", "Interest", "Freelance", "Refund",
+            "Dividends", "Rental"};
+
+    final User user = new User();
+    final List<Category> categories = new ArrayList<>();
+    final List<Account> accounts = new ArrayList<>();
+    final List<Transaction> transactions;
+
+    BenchmarkData(int size) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        user.setUserId(1);
+        int categoryId = 1;
+        for (String name : EXPENSE_CATEGORIES) {
+            categories.add(category(categoryId++, name, "expense"));
+        }
+        for (String name : INCOME_CATEGORIES) {
+            categories.add(category(categoryId++, name, "income"));
+        }
+        int accountCount = Math.max(3, Math.min(50, size / 20_000));
+        for (int i = 0; i < accountCount; i++) {
+            accounts.add(account(i + 1, random));
+        }
+
+        long end = LocalDate.of(2026, 1, 1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long span = 730L * 24 * 60 * 60 * 1000;
+        transactions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            boolean income = random.nextInt(10) == 0;
+            Category category = income
+                    ? categories.get(EXPENSE_CATEGORIES.length + random.nextInt(INCOME_CATEGORIES.length))
+                    : categories.get(random.nextInt(EXPENSE_CATEGORIES.length));
+            double amount = income ? 500 + random.nextInt(5_000) : Math.round(random.nextDouble() * 20_000) / 100.0;
+            long dateTime = end - random.nextLong(span);
+            Transaction transaction = new Transaction(amount, "txn " + i,
+                    PAYMENT_TYPES[random.nextInt(PAYMENT_TYPES.length)], dateTime, category,
+                    accounts.get(random.nextInt(accounts.size())), user);
+            transaction.setId(i + 1);
+            transaction.setCreatedAt(LocalDateTime.ofEpochSecond(dateTime / 1000, 0, ZoneOffset.UTC));
+            transactions.add(transaction);
+        }
+    }
+
+    // Random dd/MM/yyyy strings as the debt API receives them
+    static List<String> dueDates(int size) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        List<String> dates = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            dates.add(start.plusDays(random.nextInt(1_000)).format(DebtServiceImpl.DUE_DATE_FORMAT));
+        }
+        return dates;
+    }
+
+    private Category category(int id, String name, String type) {
+        Category category = new Category();
+        category.setCategoryId(id);
+        category.setName(name);
+        category.setType(type);
+        category.setUserId(user);
+        return category;
+    }
+
+    private Account account(int id, SplittableRandom random) {
+        Account account = new Account();
+        account.setAccountId(id);
+        account.setName("Account " + id);
+        account.setCurrentBalance(random.nextInt(100_000));
+        List<String> types = new ArrayList<>();
+        for (String type : PAYMENT_TYPES) {
+            if (random.nextBoolean()) {
+                types.add(type);
+            }
+        }
+        account.setPaymentTypes(types.isEmpty() ? List.of(PAYMENT_TYPES[0]) : types);
+        account.setUser(user);
+        return account;
+    }
+}
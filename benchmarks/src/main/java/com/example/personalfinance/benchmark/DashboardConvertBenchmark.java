@@ -0,0 +1,52 @@
+package com.example.personalfinance.benchmark;
+
+import com.example.personalfinance.bean.response.CategoryTotal;
+import com.example.personalfinance.bean.response.MonthlyTotal;
+import com.example.personalfinance.entity.Transaction;
+import com.example.personalfinance.service.impl.DashboardServeImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Conversion of native-query rows into the dashboard DTOs. Rows are built the way MySQL returns them
+// (names as String, sums as BigDecimal), one row per transaction to stress the per-row cost.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class DashboardConvertBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private DashboardServeImpl dashboardService;
+    private List<Object[]> categoryRows;
+    private List<Object[]> monthlyRows;
+
+    @Setup
+    public void setUp() {
+        dashboardService = new DashboardServeImpl(null, null, null, null);
+        List<Transaction> transactions = new BenchmarkData(size).transactions;
+        categoryRows = new ArrayList<>(transactions.size());
+        monthlyRows = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            BigDecimal amount = BigDecimal.valueOf(transaction.getAmount());
+            categoryRows.add(new Object[]{transaction.getCategory().getName(), amount});
+            monthlyRows.add(new Object[]{transaction.getCreatedAt().getMonth().name(), amount, BigDecimal.ZERO});
+        }
+    }
+
+    @Benchmark
+    public List<CategoryTotal> categoryTotals() {
+        return dashboardService.convertThisMonthExpenses(categoryRows);
+    }
+
+    @Benchmark
+    public List<MonthlyTotal> monthlyTotals() {
+        return dashboardService.convertMonthlyData(monthlyRows);
+    }
+}
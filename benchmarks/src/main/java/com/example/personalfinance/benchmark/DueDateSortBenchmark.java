@@ -0,0 +1,67 @@
+package com.example.personalfinance.benchmark;
+
+import com.example.personalfinance.service.impl.DebtServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// parseDueDate inside the comparator parses twice per comparison (n log n parses);
+// parseOnce decorates each element first and sorts on the parsed key
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class DueDateSortBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private DebtServiceImpl debtService;
+    private List<String> dueDates;
+
+    @Setup
+    public void setUp() {
+        debtService = new DebtServiceImpl(null, null);
+        dueDates = BenchmarkData.dueDates(size);
+    }
+
+    @Benchmark
+    public List<String> parseInComparator() {
+        List<String> copy = new ArrayList<>(dueDates);
+        copy.sort(Comparator.comparing(debtService::parseDueDate));
+        return copy;
+    }
+
+    @Benchmark
+    public List<String> parseOnce() {
+        List<Keyed> keyed = new ArrayList<>(dueDates.size());
+        for (String dueDate : dueDates) {
+            keyed.add(new Keyed(debtService.parseDueDate(dueDate), dueDate));
+        }
+        keyed.sort(Comparator.comparing(Keyed::date));
+        List<String> sorted = new ArrayList<>(keyed.size());
+        for (Keyed entry : keyed) {
+            sorted.add(entry.value());
+        }
+        return sorted;
+    }
+
+    @Benchmark
+    public List<LocalDate> localDate() {
+        List<LocalDate> dates = new ArrayList<>(dueDates.size());
+        for (String dueDate : dueDates) {
+            dates.add(LocalDate.parse(dueDate, DebtServiceImpl.DUE_DATE_FORMAT));
+        }
+        dates.sort(null);
+        return dates;
+    }
+
+    private record Keyed(Date date, String value) {
+    }
+}
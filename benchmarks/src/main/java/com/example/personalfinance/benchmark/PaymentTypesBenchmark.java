@@ -0,0 +1,54 @@
+package com.example.personalfinance.benchmark;
+
+import com.example.personalfinance.entity.Account;
+import com.example.personalfinance.entity.PaymentType;
+import com.example.personalfinance.entity.Transaction;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Account payment types per transaction, which is how often a per-transaction check
+// ("does this account accept the payment type?") would hit them: label list lookup vs the bitmask test
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PaymentTypesBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private BenchmarkData data;
+
+    @Setup
+    public void setUp() {
+        data = new BenchmarkData(size);
+    }
+
+    @Benchmark
+    public void acceptsPaymentType(Blackhole blackhole) {
+        for (Transaction transaction : data.transactions) {
+            blackhole.consume(transaction.getAccount().getPaymentTypes().contains(transaction.getPaymentType()));
+        }
+    }
+
+    @Benchmark
+    public void acceptsMask(Blackhole blackhole) {
+        for (Transaction transaction : data.transactions) {
+            blackhole.consume(transaction.getAccount().accepts(PaymentType.fromLabel(transaction.getPaymentType())));
+        }
+    }
+
+    @Benchmark
+    public void roundTrip(Blackhole blackhole) {
+        for (Transaction transaction : data.transactions) {
+            Account account = transaction.getAccount();
+            List<String> types = account.getPaymentTypes();
+            account.setPaymentTypes(types);
+            blackhole.consume(types);
+        }
+    }
+}
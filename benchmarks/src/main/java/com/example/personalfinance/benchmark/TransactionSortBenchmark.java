@@ -0,0 +1,44 @@
+package com.example.personalfinance.benchmark;
+
+import com.example.personalfinance.entity.Transaction;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Transaction.compareTo orders by createdAt (LocalDateTime); compared with a primitive key on dateTime.
+// Both variants include the list copy so the numbers stay comparable.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TransactionSortBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private List<Transaction> transactions;
+
+    @Setup
+    public void setUp() {
+        transactions = new BenchmarkData(size).transactions;
+    }
+
+    @Benchmark
+    public List<Transaction> naturalOrder() {
+        List<Transaction> copy = new ArrayList<>(transactions);
+        Collections.sort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public List<Transaction> byDateTime() {
+        List<Transaction> copy = new ArrayList<>(transactions);
+        copy.sort(Comparator.comparingLong(Transaction::getDateTime));
+        return copy;
+    }
+}
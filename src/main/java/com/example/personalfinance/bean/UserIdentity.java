@@ -0,0 +1,5 @@
+package com.example.personalfinance.bean;
+
+// Lightweight view of the authenticated user; never carries the password or profile image
+public record UserIdentity(int id, String email, String firstName, String lastName) {
+}
@@ -0,0 +1,8 @@
+package com.example.personalfinance.bean.response;
+
+import java.util.List;
+
+// One balance point per day; entries are the projected recurring transactions behind the changes
+public record AccountForecast(int accountId, double currentBalance, List<ForecastPoint> balances,
+                              List<ForecastEntry> entries) {
+}
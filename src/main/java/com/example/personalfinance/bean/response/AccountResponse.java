@@ -2,6 +2,8 @@ package com.example.personalfinance.bean.response;
 
 import java.util.List;
 
+import com.example.personalfinance.entity.PaymentType;
+
 import lombok.Data;
 
 @Data
@@ -21,4 +23,13 @@ public class AccountResponse {
         this.totalExpense = totalExpense;
         this.totalIncome = totalIncome;
     }
+
+    public AccountResponse(int accountId, String name, double currentBalance, int paymentTypeMask, double totalExpense, double totalIncome){
+        this.accountId = accountId;
+        this.name = name;
+        this.currentBalance = currentBalance;
+        this.paymentTypes = PaymentType.joinedLabelsOf(paymentTypeMask);
+        this.totalExpense = totalExpense;
+        this.totalIncome = totalIncome;
+    }
 }
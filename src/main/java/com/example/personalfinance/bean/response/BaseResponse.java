@@ -1,9 +1,13 @@
 package com.example.personalfinance.bean.response;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@AllArgsConstructor
+@NoArgsConstructor
 public class BaseResponse {
     private Object message;
     private Object data;
-}
\ No newline at end of file
+}
@@ -0,0 +1,15 @@
+package com.example.personalfinance.bean.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BudgetUsage {
+    private Long budgetId;
+    private int categoryId;
+    private String categoryName;
+    private double amount;
+    private double used;
+    private double balance;
+}
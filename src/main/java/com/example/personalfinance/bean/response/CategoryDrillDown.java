@@ -0,0 +1,8 @@
+package com.example.personalfinance.bean.response;
+
+import java.util.List;
+
+// totals are only computed for the first page; follow-up pages (with a cursor) return null
+public record CategoryDrillDown(int categoryId, String categoryName, String categoryType, CategoryTotals totals,
+                                List<CategoryTransactionRow> transactions, String nextCursor) {
+}
@@ -0,0 +1,4 @@
+package com.example.personalfinance.bean.response;
+
+public record CategoryTotal(String category, double amount) {
+}
@@ -0,0 +1,5 @@
+package com.example.personalfinance.bean.response;
+
+// firstDateTime/lastDateTime are null when the period has no transactions
+public record CategoryTotals(long count, double sum, Long firstDateTime, Long lastDateTime) {
+}
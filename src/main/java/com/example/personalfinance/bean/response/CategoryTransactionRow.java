@@ -0,0 +1,5 @@
+package com.example.personalfinance.bean.response;
+
+public record CategoryTransactionRow(Integer id, Long dateTime, double amount, String description, String paymentType,
+                                     Integer accountId, String accountName) {
+}
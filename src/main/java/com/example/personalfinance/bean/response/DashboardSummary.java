@@ -0,0 +1,9 @@
+package com.example.personalfinance.bean.response;
+
+import java.util.List;
+
+public record DashboardSummary(List<MonthlyTotal> monthlyData,
+                               List<CategoryTotal> thisMonthExpenses,
+                               List<CategoryTotal> thisMonthIncome,
+                               IncomeExpenseTotal thisMonthTotals) {
+}
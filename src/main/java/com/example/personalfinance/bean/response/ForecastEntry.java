@@ -0,0 +1,7 @@
+package com.example.personalfinance.bean.response;
+
+import java.time.LocalDate;
+
+// amount is signed: positive for income, negative for expenses
+public record ForecastEntry(LocalDate date, String description, double amount) {
+}
@@ -0,0 +1,6 @@
+package com.example.personalfinance.bean.response;
+
+import java.time.LocalDate;
+
+public record ForecastPoint(LocalDate date, double balance) {
+}
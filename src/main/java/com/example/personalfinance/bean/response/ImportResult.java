@@ -0,0 +1,15 @@
+package com.example.personalfinance.bean.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ImportResult {
+    private long imported;
+    private long rejected;
+    // First few rejection reasons, "line N: reason"
+    private List<String> errors;
+}
@@ -0,0 +1,4 @@
+package com.example.personalfinance.bean.response;
+
+public record MonthlyTotal(String month, double expenses, double income) {
+}
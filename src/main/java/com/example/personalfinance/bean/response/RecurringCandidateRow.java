@@ -0,0 +1,4 @@
+package com.example.personalfinance.bean.response;
+
+public record RecurringCandidateRow(Long dateTime, double amount, String description, String categoryType) {
+}
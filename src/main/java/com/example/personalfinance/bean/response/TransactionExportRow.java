@@ -0,0 +1,5 @@
+package com.example.personalfinance.bean.response;
+
+public record TransactionExportRow(Integer id, Long dateTime, double amount, String description, String paymentType,
+                                   String categoryName, String categoryType, Integer accountId, String accountName) {
+}
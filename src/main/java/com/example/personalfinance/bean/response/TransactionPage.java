@@ -0,0 +1,14 @@
+package com.example.personalfinance.bean.response;
+
+import com.example.personalfinance.entity.Transaction;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class TransactionPage {
+    private List<Transaction> transactions;
+    private String nextCursor;
+}
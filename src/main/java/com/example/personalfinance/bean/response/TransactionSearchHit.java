@@ -0,0 +1,5 @@
+package com.example.personalfinance.bean.response;
+
+public record TransactionSearchHit(Integer id, Long dateTime, double amount, String description, String paymentType,
+                                   Integer categoryId, Integer accountId, int score) {
+}
@@ -0,0 +1,6 @@
+package com.example.personalfinance.bean.response;
+
+import java.util.List;
+
+public record TransactionSearchPage(List<TransactionSearchHit> hits, int page, int size, boolean hasMore) {
+}
@@ -0,0 +1,45 @@
+package com.example.personalfinance.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(name = "bulkhead.enabled", havingValue = "true")
+public class BulkheadConfig {
+
+    // Dashboard and bulk permits come out of the JDBC pool; whatever is left over is kept for CRUD calls.
+    // A dashboard summary fans its reads out to dashboardExecutor, so the dashboard group can hold one connection
+    // per admitted request (open-in-view, caller-runs reads) plus one per executor thread.
+    @Bean
+    public FilterRegistrationBean<BulkheadFilter> bulkheadFilter(
+            MeterRegistry meterRegistry,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${bulkhead.dashboard.permits}") int dashboardPermits,
+            @Value("${bulkhead.bulk.permits}") int bulkPermits,
+            @Value("${bulkhead.crud.permits}") int crudPermits,
+            @Value("${bulkhead.retry-after-seconds}") long retryAfterSeconds,
+            @Value("${dashboard.summary.threads}") int summaryThreads) {
+        int dashboardConnections = dashboardPermits + summaryThreads;
+        if (dashboardConnections + bulkPermits >= poolSize) {
+            throw new IllegalStateException("bulkhead.dashboard.permits + dashboard.summary.threads + bulkhead.bulk.permits"
+                    + " must leave at least one of " + poolSize + " JDBC connections for CRUD requests");
+        }
+        BulkheadFilter filter = new BulkheadFilter(
+                Map.of(BulkheadFilter.Group.DASHBOARD, dashboardPermits,
+                        BulkheadFilter.Group.BULK, bulkPermits,
+                        BulkheadFilter.Group.CRUD, crudPermits),
+                retryAfterSeconds,
+                group -> meterRegistry.counter("http.bulkhead.rejected", "group", group.name().toLowerCase()).increment());
+        FilterRegistrationBean<BulkheadFilter> registration = new FilterRegistrationBean<>(filter);
+        // Ahead of security so rejected requests skip JWT parsing too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
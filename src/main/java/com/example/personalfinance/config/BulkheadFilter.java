@@ -0,0 +1,103 @@
+package com.example.personalfinance.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+// Caps in-flight requests per endpoint group so slow groups cannot take every JDBC connection.
+// A full group is rejected straight away instead of queueing behind the connection pool.
+public class BulkheadFilter extends OncePerRequestFilter {
+    public enum Group { DASHBOARD, BULK, CRUD }
+
+    private final Map<Group, Semaphore> permits = new EnumMap<>(Group.class);
+    private final long retryAfterSeconds;
+    private final Consumer<Group> onReject;
+
+    public BulkheadFilter(Map<Group, Integer> limits, long retryAfterSeconds, Consumer<Group> onReject) {
+        limits.forEach((group, limit) -> permits.put(group, new Semaphore(limit)));
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.onReject = onReject;
+    }
+
+    static Group groupOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/dashboard")) {
+            return Group.DASHBOARD;
+        }
+        if (path.startsWith("/transactions/import") || path.startsWith("/transactions/export")) {
+            return Group.BULK;
+        }
+        return Group.CRUD;
+    }
+
+    int available(Group group) {
+        return permits.get(group).availablePermits();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Group group = groupOf(request);
+        Semaphore semaphore = permits.get(group);
+        if (!semaphore.tryAcquire()) {
+            onReject.accept(group);
+            // Bulk work is client-throttled (429); a saturated dashboard or CRUD group is an overload (503)
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.sendError(group == Group.BULK
+                    ? HttpStatus.TOO_MANY_REQUESTS.value()
+                    : HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                semaphore.release();
+            }
+        };
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // Streaming exports finish after this thread returns, so hold the permit until the async cycle ends
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingListener(release));
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    private record ReleasingListener(Runnable release) implements AsyncListener {
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.personalfinance.config;
+
+import com.example.personalfinance.config.sql.SqlStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    // Bounded: when the queue is full the scheduler thread sends the mail itself, which slows the walk down
+    @Bean
+    public ThreadPoolTaskExecutor reminderMailExecutor(@Value("${debt.reminder.mail-threads}") int threads,
+                                                       @Value("${debt.reminder.mail-queue}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("reminder-mail-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    // Runs the dashboard summary reads in parallel; when saturated the request thread runs the read itself
+    @Bean
+    public ThreadPoolTaskExecutor dashboardExecutor(@Value("${dashboard.summary.threads}") int threads,
+                                                    @Value("${dashboard.summary.queue}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("dashboard-");
+        executor.setTaskDecorator(SqlStats::propagate);
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
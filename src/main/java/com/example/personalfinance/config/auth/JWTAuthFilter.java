@@ -0,0 +1,44 @@
+package com.example.personalfinance.config.auth;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.example.personalfinance.util.JwtUtil;
+
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+// Resolves subject and expiry once per request through JwtUtil's verified-token cache.
+// Not a @Component on purpose: SecurityConfig adds it before UsernamePasswordAuthenticationFilter.
+@RequiredArgsConstructor
+public class JWTAuthFilter extends OncePerRequestFilter {
+    private static final String BEARER = "Bearer ";
+
+    private final JwtUtil jwtUtil;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER)
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            try {
+                JwtUtil.VerifiedToken token = jwtUtil.verify(header.substring(BEARER.length()));
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(token.subject(), null, List.of()));
+            } catch (JwtException | IllegalArgumentException ignored) {
+                // Left unauthenticated; JWTAuthEntryPoint answers 401
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -1,6 +1,5 @@
 package com.example.personalfinance.config.auth;
 
-@
 public class SecurityConfig {
     
 }
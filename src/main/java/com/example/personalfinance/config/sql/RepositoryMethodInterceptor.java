@@ -0,0 +1,54 @@
+package com.example.personalfinance.config.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.concurrent.TimeUnit;
+
+// Attributes the JDBC work done inside a repository call to "<Repository>.<method>".
+// Stream-returning methods are only charged for opening the cursor; the rows show up on the request.
+class RepositoryMethodInterceptor implements MethodInterceptor {
+    private final String repository;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    RepositoryMethodInterceptor(String repository, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.repository = repository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        SqlStats.Scope scope = SqlStats.current() == null ? SqlStats.open() : null;
+        SqlStats stats = scope == null ? SqlStats.current() : scope.stats();
+        long statements = stats.statements();
+        long rows = stats.rows();
+        long jdbcNanos = stats.jdbcNanos();
+        try {
+            return invocation.proceed();
+        } finally {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry != null) {
+                String method = repository + "." + invocation.getMethod().getName();
+                Timer.builder("sql.repository.jdbc")
+                        .tag("method", method)
+                        .register(registry)
+                        .record(stats.jdbcNanos() - jdbcNanos, TimeUnit.NANOSECONDS);
+                DistributionSummary.builder("sql.repository.statements")
+                        .tag("method", method)
+                        .register(registry)
+                        .record(stats.statements() - statements);
+                DistributionSummary.builder("sql.repository.rows")
+                        .tag("method", method)
+                        .register(registry)
+                        .record(stats.rows() - rows);
+            }
+            if (scope != null) {
+                scope.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.personalfinance.config.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Opens a SqlStats per request and publishes statements, rows and JDBC time per endpoint pattern
+@Slf4j
+public class SqlAccountingFilter extends OncePerRequestFilter {
+    private final MeterRegistry meterRegistry;
+    private final int statementBudget;
+    private final boolean devMode;
+
+    public SqlAccountingFilter(MeterRegistry meterRegistry, int statementBudget, boolean devMode) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+        this.devMode = devMode;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (SqlStats.Scope scope = SqlStats.open()) {
+            request.setAttribute(SqlStats.class.getName(), scope.stats());
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                record(request, response, scope.stats());
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, SqlStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        String method = request.getMethod();
+        Timer.builder("http.server.sql.time")
+                .tags("uri", uri, "method", method)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.jdbcNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("http.server.sql.statements")
+                .tags("uri", uri, "method", method)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.statements());
+        DistributionSummary.builder("http.server.sql.rows")
+                .tags("uri", uri, "method", method)
+                .register(meterRegistry)
+                .record(stats.rows());
+        if (devMode && stats.statements() > statementBudget) {
+            log.warn("{} {} ran {} SQL statements (budget {}), {} rows, {} ms in JDBC", method, request.getRequestURI(),
+                    stats.statements(), statementBudget, stats.rows(), TimeUnit.NANOSECONDS.toMillis(stats.jdbcNanos()));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.personalfinance.config.sql;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.concurrent.TimeUnit;
+
+// Dev mode only: stamps the SQL cost on the response before the body is written,
+// when the handler's queries have already run but headers can still be set
+@ControllerAdvice
+@ConditionalOnProperty(name = {"sql.accounting.enabled", "sql.accounting.dev-mode"}, havingValue = "true")
+public class SqlBudgetResponseAdvice implements ResponseBodyAdvice<Object> {
+    @Value("${sql.accounting.statement-budget}")
+    private int statementBudget;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && servletRequest.getServletRequest().getAttribute(SqlStats.class.getName()) instanceof SqlStats stats) {
+            response.getHeaders().set("X-Sql-Statements", String.valueOf(stats.statements()));
+            response.getHeaders().set("X-Sql-Time-Ms", String.valueOf(TimeUnit.NANOSECONDS.toMillis(stats.jdbcNanos())));
+            if (stats.statements() > statementBudget) {
+                response.getHeaders().set("X-Sql-Budget-Exceeded", String.valueOf(statementBudget));
+            }
+        }
+        return body;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.personalfinance.config.sql;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// JDBC work attributed to the current request (or other unit of work). The counters are thread-safe so a
+// request that fans out to executor threads can attach the same instance there.
+public final class SqlStats {
+    private static final ThreadLocal<SqlStats> CURRENT = new ThreadLocal<>();
+    private static volatile boolean installed;
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder jdbcNanos = new LongAdder();
+
+    // False when sql.accounting.enabled is off and nothing is feeding the counters
+    public static boolean installed() {
+        return installed;
+    }
+
+    static void markInstalled() {
+        installed = true;
+    }
+
+    public static SqlStats current() {
+        return CURRENT.get();
+    }
+
+    public static Scope open() {
+        return attach(new SqlStats());
+    }
+
+    public static Scope attach(SqlStats stats) {
+        SqlStats previous = CURRENT.get();
+        CURRENT.set(stats);
+        return new Scope(stats, previous);
+    }
+
+    // TaskDecorator body: runs the task against the submitting thread's stats
+    public static Runnable propagate(Runnable task) {
+        SqlStats captured = CURRENT.get();
+        if (captured == null) {
+            return task;
+        }
+        return () -> {
+            try (Scope ignored = attach(captured)) {
+                task.run();
+            }
+        };
+    }
+
+    static void recordStatement(long nanos) {
+        SqlStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements.increment();
+            stats.jdbcNanos.add(nanos);
+        }
+    }
+
+    static void recordRow() {
+        SqlStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.rows.increment();
+        }
+    }
+
+    public long statements() {
+        return statements.sum();
+    }
+
+    public long rows() {
+        return rows.sum();
+    }
+
+    public long jdbcNanos() {
+        return jdbcNanos.sum();
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final SqlStats stats;
+        private final SqlStats previous;
+
+        private Scope(SqlStats stats, SqlStats previous) {
+            this.stats = stats;
+            this.previous = previous;
+        }
+
+        public SqlStats stats() {
+            return stats;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -1,17 +1,45 @@
 package com.example.personalfinance.controller;
 
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.example.personalfinance.bean.response.CategoryDrillDown;
 import com.example.personalfinance.service.CategoryService;
+import com.example.personalfinance.util.EpochRange;
 
 import lombok.RequiredArgsConstructor;
 
+import java.security.Principal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.NoSuchElementException;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/category")
 public class CategoryController {
     private final CategoryService categoryService;
-    
 
+    // Defaults to the current month; "to" is inclusive
+    @GetMapping("/{categoryId}/transactions")
+    public ResponseEntity<CategoryDrillDown> getCategoryDrillDown(
+            @PathVariable Integer categoryId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            Principal principal) {
+        YearMonth month = YearMonth.now();
+        EpochRange period = EpochRange.of(from == null ? month.atDay(1) : from, to == null ? month.atEndOfMonth() : to);
+        try {
+            return ResponseEntity.ok(categoryService.getCategoryDrillDown(principal.getName(), categoryId, period, cursor, size));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            // Malformed cursor
+            return ResponseEntity.badRequest().build();
+        }
+    }
 }
@@ -0,0 +1,21 @@
+package com.example.personalfinance.controller;
+
+import com.example.personalfinance.bean.response.DashboardSummary;
+import com.example.personalfinance.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/dashboard")
+public class DashboardController {
+    private final DashboardService dashboardService;
+
+    @GetMapping("/summary")
+    public ResponseEntity<DashboardSummary> getSummary(Principal principal) {
+        return ResponseEntity.ok(dashboardService.getSummary(principal.getName()));
+    }
+}
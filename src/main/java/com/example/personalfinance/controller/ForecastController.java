@@ -0,0 +1,28 @@
+package com.example.personalfinance.controller;
+
+import com.example.personalfinance.bean.response.AccountForecast;
+import com.example.personalfinance.service.ForecastService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.util.NoSuchElementException;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/forecast")
+public class ForecastController {
+    private final ForecastService forecastService;
+
+    @GetMapping("/accounts/{accountId}")
+    public ResponseEntity<AccountForecast> getAccountForecast(@PathVariable Integer accountId,
+                                                              @RequestParam(required = false) Integer days,
+                                                              Principal principal) {
+        try {
+            return ResponseEntity.ok(forecastService.forecast(principal.getName(), accountId, days));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
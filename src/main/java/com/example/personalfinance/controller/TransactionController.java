@@ -0,0 +1,84 @@
+package com.example.personalfinance.controller;
+
+import com.example.personalfinance.bean.response.ImportResult;
+import com.example.personalfinance.bean.response.TransactionSearchPage;
+import com.example.personalfinance.service.TransactionExportService;
+import com.example.personalfinance.service.TransactionImportService;
+import com.example.personalfinance.service.TransactionSearchService;
+import com.example.personalfinance.service.UserIdentityService;
+import com.example.personalfinance.util.EpochRange;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.Principal;
+import java.time.LocalDate;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/transactions")
+public class TransactionController {
+    private final TransactionImportService transactionImportService;
+    private final TransactionExportService transactionExportService;
+    private final TransactionSearchService transactionSearchService;
+    private final UserIdentityService userIdentityService;
+
+    // The container spools the upload (up to spring.servlet.multipart.max-file-size) to a temp file before this
+    // runs; the import then reads that file line by line rather than loading it into memory
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportResult> importTransactions(@RequestParam("file") MultipartFile file,
+                                                           Principal principal) throws IOException {
+        try (InputStream csv = file.getInputStream()) {
+            return ResponseEntity.ok(transactionImportService.importCsv(csv, principal.getName()));
+        }
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(defaultValue = "CSV") TransactionExportService.Format format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer accountId,
+            Principal principal) {
+        String userName = principal.getName();
+        Long fromMillis = from == null ? null : EpochRange.of(from, from).from();
+        Long toMillis = to == null ? null : EpochRange.of(to, to).to();
+        boolean ndjson = format == TransactionExportService.Format.NDJSON;
+        StreamingResponseBody body = out ->
+                transactionExportService.export(userName, format, fromMillis, toMillis, accountId, out);
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.parseMediaType("application/x-ndjson") : MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"transactions." + (ndjson ? "ndjson" : "csv") + "\"")
+                .body(body);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<TransactionSearchPage> searchTransactions(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Double minAmount,
+            @RequestParam(required = false) Double maxAmount,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            Principal principal) {
+        Long fromMillis = from == null ? null : EpochRange.of(from, from).from();
+        Long toMillis = to == null ? null : EpochRange.of(to, to).to();
+        return ResponseEntity.ok(transactionSearchService.search(principal.getName(), query, fromMillis, toMillis,
+                minAmount, maxAmount, page, size));
+    }
+
+    @PostMapping("/search/rebuild")
+    public ResponseEntity<Void> rebuildSearchIndex(Principal principal) {
+        transactionSearchService.rebuild(userIdentityService.findByEmail(principal.getName()).id());
+        return ResponseEntity.noContent().build();
+    }
+}
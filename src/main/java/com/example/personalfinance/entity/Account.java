@@ -1,13 +1,20 @@
 package com.example.personalfinance.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.SQLRestriction;
 
-import java.util.Arrays;
 import java.util.List;
 
-@Table(name = "accounts")
+@Table(name = "accounts", indexes = {
+        @Index(name = "idx_accounts_deleted_user_payment_types", columnList = "deleted, user_id, payment_type_mask"),
+        @Index(name = "idx_accounts_deleted_updated", columnList = "deleted, updated_at")
+})
+@SQLRestriction("deleted = false")
+@SQLDelete(sql = "UPDATE accounts SET deleted = true, updated_at = CURRENT_TIMESTAMP WHERE account_id = ?")
 @Entity
 @Data
 public class Account extends BaseEntity {
@@ -21,20 +28,30 @@ public class Account extends BaseEntity {
     @Column(name = "current_balance")
     private double currentBalance;
     
-    @Column(name = "payment_types")
-    private String paymentTypes;
-    
+    @JsonIgnore
+    @Column(name = "payment_type_mask", nullable = false)
+    private int paymentTypeMask;
+
+    // Legacy payment type labels with no PaymentType constant, kept aside by PaymentTypeMigrationRunner
+    @JsonIgnore
+    @Column(name = "unmapped_payment_types")
+    private String unmappedPaymentTypes;
     
     @ManyToOne
     @JoinColumn(name = "user_id")
     @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private User user;
 
+    // Shared immutable list per mask, so reads do not allocate
     public List<String> getPaymentTypes() {
-        return Arrays.asList(paymentTypes.split(", "));
+        return PaymentType.labelsOf(paymentTypeMask);
     }
 
     public void setPaymentTypes(List<String> paymentTypes) {
-        this.paymentTypes = String.join(", ", paymentTypes);
+        this.paymentTypeMask = PaymentType.maskOf(paymentTypes);
+    }
+
+    public boolean accepts(PaymentType paymentType) {
+        return (paymentTypeMask & paymentType.bit()) != 0;
     }
 }
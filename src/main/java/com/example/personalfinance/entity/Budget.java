@@ -14,10 +14,10 @@ public class Budget {
     private Long budgetId;
 
     @Column(name = "budget_status")
-    private Long used;
+    private Double used;
 
     @Column(name = "budget_balance")
-    private Long balance;
+    private Double balance;
 
 
     @ManyToOne
@@ -30,7 +30,7 @@ public class Budget {
     private User user;
 
     // Custom constructor that excludes 'budgetId' because it is auto-generated
-    public Budget(Category category, double amount, User user, Long used, Long balance) {
+    public Budget(Category category, double amount, User user, Double used, Double balance) {
         this.category = category;
         this.amount = amount;
         this.user = user;
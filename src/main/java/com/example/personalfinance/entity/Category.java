@@ -3,8 +3,15 @@ package com.example.personalfinance.entity;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.Data;
-
-@Table(name="categories")
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.SQLRestriction;
+
+@Table(name="categories", indexes = {
+        @Index(name = "idx_categories_deleted_user", columnList = "deleted, user_id"),
+        @Index(name = "idx_categories_deleted_updated", columnList = "deleted, updated_at")
+})
+@SQLRestriction("deleted = false")
+@SQLDelete(sql = "UPDATE categories SET deleted = true, updated_at = CURRENT_TIMESTAMP WHERE category_id = ?")
 @Entity
 @Data
 public class Category extends BaseEntity {
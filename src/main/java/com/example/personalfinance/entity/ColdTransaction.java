@@ -0,0 +1,51 @@
+package com.example.personalfinance.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.Immutable;
+
+// Transactions older than the tiering horizon, moved out of the hot table by TransactionTieringJob.
+// Rows keep their original id and are read-only.
+@Table(name = "transactions_cold", indexes = {
+        @Index(name = "idx_transactions_cold_user_date", columnList = "user_id, date_time, id"),
+        @Index(name = "idx_transactions_cold_user_category_date", columnList = "user_id, category_category_id, date_time"),
+        @Index(name = "idx_transactions_cold_user_payment_date", columnList = "user_id, payment_type, date_time, id"),
+        @Index(name = "idx_transactions_cold_user_account", columnList = "user_id, account_account_id")
+})
+@Entity
+@Immutable
+@Data
+@EqualsAndHashCode(callSuper = false)
+public class ColdTransaction extends BaseEntity {
+    @Id
+    private Integer id;
+    @Column(name = "amount")
+    private double amount;
+    @Column(name = "description")
+    private String description;
+    @Column(name = "payment_type")
+    private String paymentType;
+    @Column(name = "date_time", nullable = false)
+    private Long dateTime;
+    @ManyToOne
+    @JoinColumn(name = "category_category_id")
+    private Category category;
+
+    @ManyToOne
+    @JoinColumn(name = "account_account_id")
+    private Account account;
+
+    @ManyToOne
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    // Detached view in the hot entity's shape, for callers that page across both tiers
+    public Transaction toTransaction() {
+        Transaction transaction = new Transaction(amount, description, paymentType, dateTime, category, account, user);
+        transaction.setId(id);
+        transaction.setCreatedAt(getCreatedAt());
+        transaction.setUpdatedAt(getUpdatedAt());
+        return transaction;
+    }
+}
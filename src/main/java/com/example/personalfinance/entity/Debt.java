@@ -1,9 +1,16 @@
 package com.example.personalfinance.entity;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 
-@Table(name = "debts")
+import java.time.LocalDate;
+
+@Table(name = "debts", indexes = {
+        @Index(name = "idx_debts_user_due_date", columnList = "main_user, debt_due_date"),
+        @Index(name = "idx_debts_due_date_user", columnList = "debt_due_date, main_user, debt_id")
+})
 @Entity
 @Data
 public class Debt {
@@ -13,12 +20,18 @@ public class Debt {
 
     @Column(name = "debt_amount")
     private double amount;
-    @Column(name = "debt_duedate")
-    private String dueDate;
+    // Replaces the legacy dd/MM/yyyy string column debt_duedate; see DebtDueDateMigrationRunner
+    @JsonFormat(pattern = "dd/MM/yyyy")
+    @Column(name = "debt_due_date")
+    private LocalDate dueDate;
     @Column(name = "debt_moneyfrom")
     private String moneyFrom;
     @Column(name = "debt_status")
     private String status;
+    // Due date the last reminder was sent for, so reruns of DebtReminderJob skip it
+    @JsonIgnore
+    @Column(name = "reminder_sent_for")
+    private LocalDate reminderSentFor;
 
     @ManyToOne
     @JoinColumn(name = "main_user")
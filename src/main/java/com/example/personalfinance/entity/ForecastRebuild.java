@@ -0,0 +1,18 @@
+package com.example.personalfinance.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+// An account whose recurring series wait for a refold by ForecastRebuildJob. Every further request bumps
+// requests, so a refold that raced with a newer edit leaves the row behind for the next run.
+@Table(name = "forecast_rebuilds")
+@Entity
+@Data
+public class ForecastRebuild {
+    @Id
+    @Column(name = "account_id")
+    private Integer accountId;
+
+    @Column(name = "requests", nullable = false)
+    private long requests;
+}
@@ -0,0 +1,35 @@
+package com.example.personalfinance.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+@Table(name = "monthly_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_monthly_rollups_user_period_category",
+                columnNames = {"user_id", "period_month", "category_id"})
+})
+@Entity
+@Data
+public class MonthlyRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+
+    // yyyyMM, e.g. 202407
+    @Column(name = "period_month", nullable = false)
+    private Integer periodMonth;
+
+    @Column(name = "category_id", nullable = false)
+    private Integer categoryId;
+
+    @Column(name = "income_sum", nullable = false)
+    private double incomeSum;
+
+    @Column(name = "expense_sum", nullable = false)
+    private double expenseSum;
+
+    @Column(name = "txn_count", nullable = false)
+    private long count;
+}
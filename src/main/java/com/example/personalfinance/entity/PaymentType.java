@@ -0,0 +1,87 @@
+package com.example.personalfinance.entity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// Fixed set of payment types an account can accept, persisted on Account as a bitmask (one bit per constant).
+// Constants may only be appended: the ordinal is the bit position stored in accounts.payment_type_mask.
+public enum PaymentType {
+    CASH("Cash"),
+    DEBIT_CARD("Debit Card"),
+    CREDIT_CARD("Credit Card"),
+    BANK_TRANSFER("Bank Transfer"),
+    E_WALLET("E-Wallet"),
+    OTHER("Other");
+
+    private static final PaymentType[] VALUES = values();
+    // Every possible mask maps to one shared immutable label list and one pre-joined string
+    private static final List<List<String>> LABELS = new ArrayList<>(1 << VALUES.length);
+    private static final String[] JOINED = new String[1 << VALUES.length];
+
+    static {
+        for (int mask = 0; mask < 1 << VALUES.length; mask++) {
+            List<String> labels = new ArrayList<>();
+            for (PaymentType type : VALUES) {
+                if ((mask & type.bit()) != 0) {
+                    labels.add(type.label);
+                }
+            }
+            LABELS.add(List.copyOf(labels));
+            JOINED[mask] = String.join(", ", labels);
+        }
+    }
+
+    private final String label;
+
+    PaymentType(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    public static List<String> labelsOf(int mask) {
+        return LABELS.get(mask & (JOINED.length - 1));
+    }
+
+    public static String joinedLabelsOf(int mask) {
+        return JOINED[mask & (JOINED.length - 1)];
+    }
+
+    // Accepts either the label ("Debit Card") or the constant name ("DEBIT_CARD"); anything else is OTHER
+    public static PaymentType fromLabel(String value) {
+        return find(value).orElse(OTHER);
+    }
+
+    public static Optional<PaymentType> find(String value) {
+        String trimmed = value.trim();
+        for (PaymentType type : VALUES) {
+            if (type.label.equalsIgnoreCase(trimmed) || type.name().equalsIgnoreCase(trimmed)) {
+                return Optional.of(type);
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Canonical label stored on transactions, so filters by label match however the client spelled it
+    public static String normalize(String value) {
+        return value == null || value.isBlank() ? null : fromLabel(value).getLabel();
+    }
+
+    public static int maskOf(Collection<String> labels) {
+        int mask = 0;
+        for (String label : labels) {
+            if (label != null && !label.isBlank()) {
+                mask |= fromLabel(label).bit();
+            }
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.personalfinance.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+// Running statistics for one (account, description, direction, amount band) series, folded one
+// transaction at a time in date order. Interval variance uses Welford's update, so no history is kept.
+@Table(name = "recurring_series", indexes = {
+        @Index(name = "idx_recurring_series_account_key", columnList = "account_id, description_key, income")
+})
+@Entity
+@Data
+public class RecurringSeries {
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+
+    @Column(name = "account_id", nullable = false)
+    private Integer accountId;
+
+    @Column(name = "description_key", nullable = false)
+    private String descriptionKey;
+
+    // A sample description as entered, for display
+    @Column(name = "description")
+    private String description;
+
+    @Column(name = "income", nullable = false)
+    private boolean income;
+
+    @Column(name = "occurrences", nullable = false)
+    private int occurrences;
+
+    @Column(name = "mean_amount", nullable = false)
+    private double meanAmount;
+
+    @Column(name = "mean_interval_millis", nullable = false)
+    private double meanIntervalMillis;
+
+    // Sum of squared interval deviations from the mean
+    @Column(name = "interval_m2", nullable = false)
+    private double intervalM2;
+
+    @Column(name = "last_date_time", nullable = false)
+    private long lastDateTime;
+
+    // Folding is read-modify-write, so a writer that saw stale statistics fails instead of overwriting them
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    public boolean matchesAmount(double amount, double tolerance) {
+        return Math.abs(amount - meanAmount) <= tolerance * Math.abs(meanAmount);
+    }
+
+    public void observe(long dateTime, double amount) {
+        occurrences++;
+        meanAmount += (amount - meanAmount) / occurrences;
+        if (occurrences > 1) {
+            int intervals = occurrences - 1;
+            double interval = dateTime - lastDateTime;
+            double delta = interval - meanIntervalMillis;
+            meanIntervalMillis += delta / intervals;
+            intervalM2 += delta * (interval - meanIntervalMillis);
+        }
+        lastDateTime = dateTime;
+    }
+
+    // Regular enough to project: enough occurrences, at least a day apart, and a low spread of intervals
+    public boolean isRecurring(int minOccurrences, double maxIntervalDeviation) {
+        if (occurrences < minOccurrences || meanIntervalMillis < DAY_MILLIS) {
+            return false;
+        }
+        double deviation = Math.sqrt(intervalM2 / (occurrences - 1));
+        return deviation <= maxIntervalDeviation * meanIntervalMillis;
+    }
+
+    // A series that missed two expected occurrences is treated as ended
+    public boolean isLapsed(long now) {
+        return now - lastDateTime > 2 * meanIntervalMillis;
+    }
+}
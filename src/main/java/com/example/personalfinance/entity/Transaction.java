@@ -3,8 +3,19 @@ package com.example.personalfinance.entity;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.SQLRestriction;
 
-@Table(name="transactions")
+// Every read carries "deleted = false", so the indexes lead with it
+@Table(name="transactions", indexes = {
+        @Index(name = "idx_transactions_deleted_user_date", columnList = "deleted, user_id, date_time, id"),
+        @Index(name = "idx_transactions_deleted_user_category_date", columnList = "deleted, user_id, category_category_id, date_time"),
+        @Index(name = "idx_transactions_deleted_user_payment_date", columnList = "deleted, user_id, payment_type, date_time, id"),
+        @Index(name = "idx_transactions_deleted_updated", columnList = "deleted, updated_at"),
+        @Index(name = "idx_transactions_deleted_date", columnList = "deleted, date_time, id")
+})
+@SQLRestriction("deleted = false")
+@SQLDelete(sql = "UPDATE transactions SET deleted = true, updated_at = CURRENT_TIMESTAMP WHERE id = ?")
 @Entity
 @Data
 public class Transaction extends BaseEntity implements Comparable<Transaction>   {
@@ -17,7 +28,8 @@ public class Transaction extends BaseEntity implements Comparable<Transaction>
     private String description;
     @Column(name = "payment_type")
     private String paymentType;
-    @Column(name = "date_time")
+    // Part of every keyset cursor, so it is never null
+    @Column(name = "date_time", nullable = false)
     private Long dateTime;
     @ManyToOne
     @JoinColumn()
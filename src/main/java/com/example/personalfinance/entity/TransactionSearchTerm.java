@@ -0,0 +1,37 @@
+package com.example.personalfinance.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+// Inverted index over transaction descriptions: one row per (user, word or trigram, transaction).
+// The unique key doubles as a covering index for lookups; rows survive tiering because ids are kept.
+@Table(name = "transaction_search_terms", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_transaction_search_terms_user_kind_term_txn",
+                columnNames = {"user_id", "kind", "term", "transaction_id"})
+}, indexes = {
+        @Index(name = "idx_transaction_search_terms_txn", columnList = "transaction_id")
+})
+@Entity
+@Data
+public class TransactionSearchTerm {
+    public enum Kind {
+        WORD, TRIGRAM
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "kind", nullable = false, length = 7)
+    private Kind kind;
+
+    @Column(name = "term", nullable = false, length = 32)
+    private String term;
+
+    @Column(name = "transaction_id", nullable = false)
+    private Integer transactionId;
+}
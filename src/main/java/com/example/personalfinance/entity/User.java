@@ -7,6 +7,7 @@ import lombok.Data;
 
 @Table(name = "users")
 @Entity
+@EntityListeners(UserIdentityListener.class)
 @Data
 public class User extends BaseEntity {
     @Id
@@ -26,14 +27,7 @@ public class User extends BaseEntity {
     @Column(name = "password")
     private String password;
     
-    @Column(name = "profile_image", length = 1048576)
-    private byte[] profileImage;
-
-    public byte[] getProfileImage() {
-        return profileImage;
-    }
-
-    public void setProfileImage(byte[] profileImage) {
-        this.profileImage = profileImage;
-    }
+    // SHA-256 of the image in the blob store; the bytes live outside this row
+    @Column(name = "profile_image_hash", length = 64)
+    private String profileImageHash;
 }
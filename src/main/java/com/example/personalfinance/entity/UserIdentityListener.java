@@ -0,0 +1,34 @@
+package com.example.personalfinance.entity;
+
+import com.example.personalfinance.service.UserIdentityService;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Drops cached identities whenever a user row changes, including updateUserProfileEmail/updateUserProfileName.
+// The callbacks fire at flush; evicting then would let a concurrent reader re-cache the old row before commit.
+@Component
+@RequiredArgsConstructor
+public class UserIdentityListener {
+    private final ObjectProvider<UserIdentityService> userIdentityService;
+
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        int userId = user.getUserId();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            userIdentityService.getObject().evict(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                userIdentityService.getObject().evict(userId);
+            }
+        });
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.personalfinance.job;
+
+import com.example.personalfinance.service.BudgetService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Re-bases Budget.used/balance on the new month; also runs at startup in case a rollover was missed while down
+@Component
+@RequiredArgsConstructor
+public class BudgetPeriodRolloverJob {
+    private final BudgetService budgetService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        budgetService.refreshCurrentPeriod();
+    }
+
+    @Scheduled(cron = "${budget.rollover.cron}")
+    public void rollover() {
+        budgetService.refreshCurrentPeriod();
+    }
+}
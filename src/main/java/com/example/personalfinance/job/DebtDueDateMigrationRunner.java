@@ -0,0 +1,58 @@
+package com.example.personalfinance.job;
+
+import com.example.personalfinance.service.impl.DebtServiceImpl;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Copies the legacy dd/MM/yyyy debts.debt_duedate strings into the typed debt_due_date column
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DebtDueDateMigrationRunner implements ApplicationRunner {
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // Databases created after the change never had the legacy column
+        if (!LegacyColumns.exists(jdbcTemplate, "debts", "debt_duedate")) {
+            return;
+        }
+        int migrated = 0;
+        int lastId = 0;
+        List<Map<String, Object>> rows;
+        do {
+            rows = jdbcTemplate.queryForList("SELECT debt_id, debt_duedate FROM debts " +
+                    "WHERE debt_id > ? AND debt_due_date IS NULL AND debt_duedate IS NOT NULL " +
+                    "ORDER BY debt_id LIMIT " + BATCH_SIZE, lastId);
+            List<Object[]> updates = new ArrayList<>(rows.size());
+            for (Map<String, Object> row : rows) {
+                lastId = ((Number) row.get("debt_id")).intValue();
+                try {
+                    LocalDate dueDate = LocalDate.parse(((String) row.get("debt_duedate")).trim(),
+                            DebtServiceImpl.DUE_DATE_FORMAT);
+                    updates.add(new Object[]{Date.valueOf(dueDate), lastId});
+                } catch (DateTimeParseException e) {
+                    log.warn("Debt {} has an unparseable due date '{}'", lastId, row.get("debt_duedate"));
+                }
+            }
+            jdbcTemplate.batchUpdate("UPDATE debts SET debt_due_date = ? WHERE debt_id = ?", updates);
+            migrated += updates.size();
+        } while (rows.size() == BATCH_SIZE);
+        if (migrated > 0) {
+            log.info("Migrated {} debt due date(s)", migrated);
+        }
+    }
+}
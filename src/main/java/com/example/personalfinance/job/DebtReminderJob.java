@@ -0,0 +1,121 @@
+package com.example.personalfinance.job;
+
+import com.example.personalfinance.entity.Debt;
+import com.example.personalfinance.entity.User;
+import com.example.personalfinance.repository.DebtRepository;
+import com.example.personalfinance.service.impl.DebtServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+// Walks debts due soon in (due date, user, debt) keyset pages and mails each user a single digest
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "debt.reminder.enabled", havingValue = "true")
+public class DebtReminderJob {
+    private final DebtRepository debtRepository;
+    private final JavaMailSender mailSender;
+    private final Executor reminderMailExecutor;
+
+    @Value("${debt.reminder.days-ahead}")
+    private int daysAhead;
+
+    @Value("${debt.reminder.page-size}")
+    private int pageSize;
+
+    @Value("${debt.reminder.from}")
+    private String from;
+
+    public DebtReminderJob(DebtRepository debtRepository, JavaMailSender mailSender,
+                           @Qualifier("reminderMailExecutor") Executor reminderMailExecutor) {
+        this.debtRepository = debtRepository;
+        this.mailSender = mailSender;
+        this.reminderMailExecutor = reminderMailExecutor;
+    }
+
+    @Scheduled(cron = "${debt.reminder.cron}")
+    public void sendReminders() {
+        int digests = runOnce(LocalDate.now());
+        log.info("Queued {} debt reminder digest(s)", digests);
+    }
+
+    // Returns the number of digests dispatched; waits for them so runs never overlap
+    public int runOnce(LocalDate today) {
+        LocalDate until = today.plusDays(daysAhead);
+        // Pages follow the due-date index, so one user's debts are spread across the window and are gathered
+        // here before mailing; the window is only days-ahead wide
+        Map<Integer, List<Debt>> groups = new LinkedHashMap<>();
+        LocalDate afterDueDate = today;
+        int afterUserId = 0;
+        int afterDebtId = 0;
+        List<Debt> page;
+        do {
+            page = debtRepository.findDueForReminder(today, until, afterDueDate, afterUserId, afterDebtId,
+                    Limit.of(pageSize));
+            for (Debt debt : page) {
+                groups.computeIfAbsent(debt.getUser().getUserId(), id -> new ArrayList<>()).add(debt);
+            }
+            if (!page.isEmpty()) {
+                Debt last = page.get(page.size() - 1);
+                afterDueDate = last.getDueDate();
+                afterUserId = last.getUser().getUserId();
+                afterDebtId = last.getDebtId();
+            }
+        } while (page.size() == pageSize);
+        List<CompletableFuture<Void>> sends = new ArrayList<>();
+        for (List<Debt> group : groups.values()) {
+            sends.add(dispatch(group));
+        }
+        CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).join();
+        return sends.size();
+    }
+
+    private CompletableFuture<Void> dispatch(List<Debt> debts) {
+        User user = debts.get(0).getUser();
+        List<Integer> ids = debts.stream().map(Debt::getDebtId).toList();
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(from);
+        message.setTo(user.getEmail());
+        message.setSubject(debts.size() == 1 ? "1 debt is due soon" : debts.size() + " debts are due soon");
+        message.setText(digestBody(user, debts));
+        return CompletableFuture
+                .runAsync(() -> {
+                    mailSender.send(message);
+                    debtRepository.markReminded(ids);
+                }, reminderMailExecutor)
+                .exceptionally(e -> {
+                    // Not marked, so the next run retries this user
+                    log.warn("Debt reminder to user {} failed", user.getUserId(), e);
+                    return null;
+                });
+    }
+
+    private static String digestBody(User user, List<Debt> debts) {
+        StringBuilder body = new StringBuilder();
+        body.append("Hi ").append(user.getFirstName() == null ? "" : user.getFirstName()).append(",\n\n")
+                .append("The following debts are due soon:\n\n");
+        for (Debt debt : debts) {
+            body.append("- ").append(debt.getDueDate().format(DebtServiceImpl.DUE_DATE_FORMAT))
+                    .append(": ").append(String.format("%.2f", debt.getAmount()));
+            if (debt.getMoneyFrom() != null && !debt.getMoneyFrom().isBlank()) {
+                body.append(" (").append(debt.getMoneyFrom()).append(')');
+            }
+            body.append('\n');
+        }
+        return body.toString();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.personalfinance.job;
+
+import com.example.personalfinance.entity.ForecastRebuild;
+import com.example.personalfinance.service.ForecastService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Refolds the accounts that edits, deletes and back-dated adds queued in forecast_rebuilds, one transaction
+// per account. A failed account keeps its row and is retried on the next run.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "forecast.rebuild.enabled", havingValue = "true")
+public class ForecastRebuildJob {
+    private final ForecastService forecastService;
+
+    @Value("${forecast.rebuild.batch-size}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${forecast.rebuild.poll-interval}", initialDelayString = "${forecast.rebuild.poll-interval}")
+    public void drain() {
+        int rebuilt = 0;
+        int lastAccountId = 0;
+        List<ForecastRebuild> requested;
+        do {
+            requested = forecastService.findRequestedRebuilds(lastAccountId, batchSize);
+            for (ForecastRebuild request : requested) {
+                lastAccountId = request.getAccountId();
+                try {
+                    forecastService.rebuildRequested(request);
+                    rebuilt++;
+                } catch (RuntimeException e) {
+                    log.warn("Could not rebuild the recurring series of account {}", lastAccountId, e);
+                }
+            }
+        } while (requested.size() == batchSize);
+        if (rebuilt > 0) {
+            log.debug("Rebuilt recurring series for {} account(s)", rebuilt);
+        }
+    }
+}
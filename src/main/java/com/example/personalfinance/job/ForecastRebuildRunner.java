@@ -0,0 +1,37 @@
+package com.example.personalfinance.job;
+
+import com.example.personalfinance.repository.AccountRepository;
+import com.example.personalfinance.service.ForecastService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Regenerates recurring_series: --rebuild-forecasts for every account, --rebuild-forecasts=<accountId> for one
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ForecastRebuildRunner implements ApplicationRunner {
+    private static final String OPTION = "rebuild-forecasts";
+
+    private final ForecastService forecastService;
+    private final AccountRepository accountRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+        List<String> values = args.getOptionValues(OPTION);
+        List<Integer> accountIds = values.isEmpty()
+                ? accountRepository.findAllAccountIds()
+                : values.stream().map(Integer::valueOf).toList();
+        for (Integer accountId : accountIds) {
+            forecastService.rebuild(accountId);
+        }
+        log.info("Rebuilt recurring series for {} account(s)", accountIds.size());
+    }
+}
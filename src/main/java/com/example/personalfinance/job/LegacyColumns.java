@@ -0,0 +1,32 @@
+package com.example.personalfinance.job;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// Lets the migration runners skip cleanly on databases created after a legacy column was dropped, while any
+// other failure still stops startup
+final class LegacyColumns {
+    private LegacyColumns() {
+    }
+
+    static boolean exists(JdbcTemplate jdbcTemplate, String table, String column) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet columns = metaData.getColumns(connection.getCatalog(), connection.getSchema(),
+                    pattern(metaData, table), pattern(metaData, column))) {
+                return columns.next();
+            }
+        }));
+    }
+
+    // Names go in as catalog patterns, so the underscores in them are escaped rather than matching any character
+    private static String pattern(DatabaseMetaData metaData, String name) throws SQLException {
+        String escape = metaData.getSearchStringEscape();
+        String escaped = name.replace(escape, escape + escape).replace("_", escape + "_").replace("%", escape + "%");
+        return metaData.storesUpperCaseIdentifiers() ? escaped.toUpperCase() : escaped;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.personalfinance.job;
+
+import com.example.personalfinance.entity.MailOutbox;
+import com.example.personalfinance.service.MailOutboxService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+// Drains mail_outbox: claims leased batches, sends them in SMTP batches on virtual threads, records the outcome
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "mail.outbox.enabled", havingValue = "true")
+public class MailOutboxDispatcher {
+    private final MailOutboxService mailOutboxService;
+    private final JavaMailSender mailSender;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore connections;
+
+    @Value("${mail.outbox.send-batch}")
+    private int sendBatch;
+
+    @Value("${mail.outbox.from}")
+    private String from;
+
+    public MailOutboxDispatcher(MailOutboxService mailOutboxService, JavaMailSender mailSender,
+                                @Value("${mail.outbox.concurrency}") int concurrency) {
+        this.mailOutboxService = mailOutboxService;
+        this.mailSender = mailSender;
+        this.connections = new Semaphore(concurrency);
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval}", initialDelayString = "${mail.outbox.poll-interval}")
+    public void drain() {
+        List<MailOutbox> claimed;
+        do {
+            claimed = mailOutboxService.claimBatch();
+            List<Future<?>> sends = new ArrayList<>();
+            for (int i = 0; i < claimed.size(); i += sendBatch) {
+                List<MailOutbox> chunk = claimed.subList(i, Math.min(i + sendBatch, claimed.size()));
+                // A Callable, so an interrupted send surfaces through get(); its rows stay leased and are retried
+                sends.add(executor.submit(() -> {
+                    send(chunk);
+                    return null;
+                }));
+            }
+            for (Future<?> send : sends) {
+                try {
+                    send.get();
+                } catch (Exception e) {
+                    log.warn("Outbox send task failed", e);
+                }
+            }
+        } while (!claimed.isEmpty());
+    }
+
+    private void send(List<MailOutbox> chunk) throws InterruptedException {
+        Map<SimpleMailMessage, Long> ids = new IdentityHashMap<>();
+        for (MailOutbox mail : chunk) {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(from);
+            message.setTo(mail.getRecipient());
+            message.setSubject(mail.getSubject());
+            message.setText(mail.getBody());
+            ids.put(message, mail.getId());
+        }
+        connections.acquire();
+        try {
+            // One SMTP session for the whole chunk
+            mailSender.send(ids.keySet().toArray(SimpleMailMessage[]::new));
+            mailOutboxService.markSent(new ArrayList<>(ids.values()));
+        } catch (MailSendException e) {
+            Map<Object, Exception> failed = e.getFailedMessages();
+            List<Long> sent = new ArrayList<>();
+            ids.forEach((message, id) -> {
+                Exception failure = failed.get(message);
+                if (failure == null && !failed.isEmpty()) {
+                    sent.add(id);
+                } else {
+                    mailOutboxService.markFailed(List.of(id), String.valueOf(failure != null ? failure : e));
+                }
+            });
+            mailOutboxService.markSent(sent);
+        } catch (MailException e) {
+            mailOutboxService.markFailed(new ArrayList<>(ids.values()), e.toString());
+        } finally {
+            connections.release();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.close();
+    }
+}
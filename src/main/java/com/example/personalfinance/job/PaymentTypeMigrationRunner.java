@@ -0,0 +1,97 @@
+package com.example.personalfinance.job;
+
+import com.example.personalfinance.entity.PaymentType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Converts the legacy ", "-joined accounts.payment_types strings into payment_type_mask. Labels without a
+// PaymentType set the Other bit and are kept verbatim in unmapped_payment_types. The legacy value is cleared
+// once converted, so each row is migrated exactly once.
+// Also rewrites transaction payment types spelled other than their canonical label ("cash", "DEBIT_CARD");
+// values that match no PaymentType are left as they are.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PaymentTypeMigrationRunner implements ApplicationRunner {
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        migrateAccounts();
+        normalizeTransactions("transactions");
+        normalizeTransactions("transactions_cold");
+    }
+
+    private void migrateAccounts() {
+        // Databases created after the change never had the legacy column
+        if (!LegacyColumns.exists(jdbcTemplate, "accounts", "payment_types")) {
+            return;
+        }
+        int migrated = 0;
+        List<Map<String, Object>> rows;
+        do {
+            rows = jdbcTemplate.queryForList("SELECT account_id, payment_types, payment_type_mask FROM accounts " +
+                    "WHERE payment_types IS NOT NULL ORDER BY account_id LIMIT " + BATCH_SIZE);
+            List<Object[]> updates = new ArrayList<>(rows.size());
+            for (Map<String, Object> row : rows) {
+                String legacy = (String) row.get("payment_types");
+                List<String> labels = Arrays.stream(legacy.split(","))
+                        .map(String::trim)
+                        .filter(label -> !label.isEmpty())
+                        .toList();
+                List<String> unknown = labels.stream().filter(label -> PaymentType.find(label).isEmpty()).toList();
+                String unmapped = unknown.isEmpty() ? null : String.join(", ", unknown);
+                if (unmapped != null) {
+                    log.warn("Account {} has unrecognised payment types '{}', mapped to Other and kept in unmapped_payment_types",
+                            row.get("account_id"), unmapped);
+                }
+                // OR-ed here rather than in SQL, which has no portable bitwise operator
+                int mask = ((Number) row.get("payment_type_mask")).intValue() | PaymentType.maskOf(labels);
+                updates.add(new Object[]{mask, unmapped, row.get("account_id")});
+            }
+            jdbcTemplate.batchUpdate("UPDATE accounts SET payment_type_mask = ?, " +
+                    "unmapped_payment_types = ?, payment_types = NULL WHERE account_id = ?", updates);
+            migrated += updates.size();
+        } while (rows.size() == BATCH_SIZE);
+        if (migrated > 0) {
+            log.info("Migrated payment types of {} account(s)", migrated);
+        }
+    }
+
+    private void normalizeTransactions(String table) {
+        List<Object> labels = Arrays.stream(PaymentType.values()).map(type -> (Object) type.getLabel()).toList();
+        String placeholders = String.join(", ", Collections.nCopies(labels.size(), "?"));
+        List<String> odd = jdbcTemplate.queryForList("SELECT DISTINCT payment_type FROM " + table +
+                " WHERE payment_type IS NOT NULL AND payment_type NOT IN (" + placeholders + ")", String.class, labels.toArray());
+        int normalized = 0;
+        int unrecognised = 0;
+        for (String value : odd) {
+            Optional<PaymentType> type = value.isBlank() ? Optional.empty() : PaymentType.find(value);
+            if (type.isEmpty()) {
+                unrecognised++;
+                continue;
+            }
+            normalized += jdbcTemplate.update("UPDATE " + table + " SET payment_type = ? WHERE payment_type = ?",
+                    type.get().getLabel(), value);
+        }
+        if (normalized > 0) {
+            log.info("Normalized the payment type of {} row(s) in {}", normalized, table);
+        }
+        if (unrecognised > 0) {
+            log.warn("{} has {} payment type value(s) that match no PaymentType; left unchanged", table, unrecognised);
+        }
+    }
+}
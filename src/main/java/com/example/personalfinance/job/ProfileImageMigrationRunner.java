@@ -0,0 +1,53 @@
+package com.example.personalfinance.job;
+
+import com.example.personalfinance.service.BlobStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+
+// Moves images still stored in the legacy users.profile_image column into the blob store
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProfileImageMigrationRunner implements ApplicationRunner {
+    private static final int BATCH_SIZE = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlobStore blobStore;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // Databases created after the move never had the legacy column
+        if (!LegacyColumns.exists(jdbcTemplate, "users", "profile_image")) {
+            return;
+        }
+        int migrated = 0;
+        try {
+            List<Map<String, Object>> rows;
+            do {
+                rows = jdbcTemplate.queryForList("SELECT user_id, profile_image FROM users " +
+                        "WHERE profile_image IS NOT NULL AND profile_image_hash IS NULL LIMIT " + BATCH_SIZE);
+                for (Map<String, Object> row : rows) {
+                    String hash = blobStore.put(new ByteArrayInputStream((byte[]) row.get("profile_image")));
+                    jdbcTemplate.update("UPDATE users SET profile_image_hash = ?, profile_image = NULL WHERE user_id = ?",
+                            hash, row.get("user_id"));
+                    migrated++;
+                }
+            } while (rows.size() == BATCH_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (migrated > 0) {
+            log.info("Moved {} profile image(s) into the blob store", migrated);
+        }
+    }
+}
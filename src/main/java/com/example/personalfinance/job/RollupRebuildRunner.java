@@ -0,0 +1,38 @@
+package com.example.personalfinance.job;
+
+import com.example.personalfinance.repository.UserRepository;
+import com.example.personalfinance.service.RollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Regenerates monthly_rollups from transactions: --rebuild-rollups for every user, --rebuild-rollups=<userId> for one
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RollupRebuildRunner implements ApplicationRunner {
+    private static final String OPTION = "rebuild-rollups";
+
+    private final RollupService rollupService;
+    private final UserRepository userRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+        List<String> values = args.getOptionValues(OPTION);
+        List<Integer> userIds = values.isEmpty()
+                ? userRepository.findAllUserIds()
+                : values.stream().map(Integer::valueOf).toList();
+        for (Integer userId : userIds) {
+            // One transaction per user keeps locks short during large backfills
+            rollupService.rebuild(userId);
+        }
+        log.info("Rebuilt monthly rollups for {} user(s)", userIds.size());
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.personalfinance.job;
+
+import com.example.personalfinance.repository.UserRepository;
+import com.example.personalfinance.service.TransactionSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Regenerates transaction_search_terms: --rebuild-search-index for every user, --rebuild-search-index=<userId> for one
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchIndexRebuildRunner implements ApplicationRunner {
+    private static final String OPTION = "rebuild-search-index";
+
+    private final TransactionSearchService transactionSearchService;
+    private final UserRepository userRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+        List<String> values = args.getOptionValues(OPTION);
+        List<Integer> userIds = values.isEmpty()
+                ? userRepository.findAllUserIds()
+                : values.stream().map(Integer::valueOf).toList();
+        for (Integer userId : userIds) {
+            transactionSearchService.rebuild(userId);
+        }
+        log.info("Rebuilt the transaction search index for {} user(s)", userIds.size());
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.personalfinance.job;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Moves rows soft-deleted longer than the retention window into <table>_archive, a small batch per
+// transaction, so row locks are held only for one batch at a time. Children go first; accounts and
+// categories still referenced by live or cold rows stay where they are until those rows are purged too.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "soft-delete.purge.enabled", havingValue = "true")
+public class SoftDeletePurgeJob {
+    // dependents runs with the batch's ids bound to :ids, for side tables without a foreign key
+    private record Target(String table, String idColumn, String stillReferenced, String dependents) {
+    }
+
+    private static final List<Target> TARGETS = List.of(
+            new Target("transactions", "id", null,
+                    "DELETE FROM transaction_search_terms WHERE transaction_id IN (:ids)"),
+            new Target("accounts", "account_id",
+                    "EXISTS (SELECT 1 FROM transactions t WHERE t.account_account_id = x.account_id) " +
+                            "OR EXISTS (SELECT 1 FROM transactions_cold t WHERE t.user_id = x.user_id " +
+                            "AND t.account_account_id = x.account_id)", null),
+            new Target("categories", "category_id",
+                    "EXISTS (SELECT 1 FROM transactions t WHERE t.category_category_id = x.category_id) " +
+                            "OR EXISTS (SELECT 1 FROM transactions_cold t WHERE t.user_id = x.user_id " +
+                            "AND t.category_category_id = x.category_id) " +
+                            "OR EXISTS (SELECT 1 FROM budgets b WHERE b.category_id = x.category_id)", null));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${soft-delete.purge.retention}")
+    private Duration retention;
+
+    @Value("${soft-delete.purge.batch-size}")
+    private int batchSize;
+
+    public SoftDeletePurgeJob(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${soft-delete.purge.cron}")
+    public void purge() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(retention));
+        for (Target target : TARGETS) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + target.table() + "_archive LIKE " + target.table());
+            String columns = String.join(", ", syncArchiveColumns(target.table()));
+            long purged = 0;
+            int moved;
+            do {
+                moved = purgeBatch(target, columns, cutoff);
+                purged += moved;
+            } while (moved == batchSize);
+            if (purged > 0) {
+                log.info("Archived {} soft-deleted row(s) from {}", purged, target.table());
+            }
+        }
+    }
+
+    private int purgeBatch(Target target, String columns, Timestamp cutoff) {
+        Integer moved = transactionTemplate.execute(status -> {
+            String where = "x.deleted = true AND x.updated_at < :cutoff"
+                    + (target.stillReferenced() == null ? "" : " AND NOT (" + target.stillReferenced() + ")");
+            // The ids are locked here and only these rows are copied and deleted
+            List<Integer> ids = namedJdbcTemplate.queryForList(
+                    "SELECT x." + target.idColumn() + " FROM " + target.table() + " x WHERE " + where +
+                            " ORDER BY x." + target.idColumn() + " LIMIT :limit FOR UPDATE",
+                    new MapSqlParameterSource("cutoff", cutoff).addValue("limit", batchSize), Integer.class);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+            namedJdbcTemplate.update("INSERT IGNORE INTO " + target.table() + "_archive (" + columns + ") SELECT " + columns +
+                    " FROM " + target.table() + " WHERE " + target.idColumn() + " IN (:ids)", params);
+            namedJdbcTemplate.update("DELETE FROM " + target.table() + " WHERE " + target.idColumn() + " IN (:ids)", params);
+            if (target.dependents() != null) {
+                namedJdbcTemplate.update(target.dependents(), params);
+            }
+            return ids.size();
+        });
+        return moved == null ? 0 : moved;
+    }
+
+    // The archive starts as a CREATE TABLE LIKE copy, but ddl-auto keeps changing the live table afterwards.
+    // Columns added since are added to the archive too, and archive-only columns (dropped from the live table)
+    // are made nullable, so the copy can name the live table's columns instead of relying on their positions.
+    private List<String> syncArchiveColumns(String table) {
+        String archive = table + "_archive";
+        List<Map<String, Object>> live = columnsOf(table);
+        Map<String, Map<String, Object>> archived = new HashMap<>();
+        for (Map<String, Object> column : columnsOf(archive)) {
+            archived.put((String) column.get("column_name"), column);
+        }
+        List<String> names = new ArrayList<>(live.size());
+        for (Map<String, Object> column : live) {
+            String name = (String) column.get("column_name");
+            names.add("`" + name + "`");
+            if (archived.remove(name) == null) {
+                jdbcTemplate.execute("ALTER TABLE " + archive + " ADD COLUMN `" + name + "` " + column.get("column_type") + " NULL");
+                log.info("Added column {} to {}", name, archive);
+            }
+        }
+        for (Map<String, Object> column : archived.values()) {
+            if ("NO".equals(column.get("is_nullable")) && !"PRI".equals(column.get("column_key"))) {
+                jdbcTemplate.execute("ALTER TABLE " + archive + " MODIFY COLUMN `" + column.get("column_name") + "` "
+                        + column.get("column_type") + " NULL");
+            }
+        }
+        return names;
+    }
+
+    private List<Map<String, Object>> columnsOf(String table) {
+        return jdbcTemplate.queryForList("SELECT column_name, column_type, is_nullable, column_key " +
+                "FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = ? " +
+                "ORDER BY ordinal_position", table);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.personalfinance.job;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// ddl-auto=update adds the deleted-first indexes but never drops the ones they replace.
+// MySQL refuses to drop an index that is the only one backing a foreign key; those are kept.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SupersededIndexCleanupRunner implements ApplicationRunner {
+    private static final List<String[]> SUPERSEDED = List.of(
+            new String[]{"transactions", "idx_transactions_user_payment_date"},
+            new String[]{"transactions", "idx_transactions_user_category_date"},
+            new String[]{"transactions", "idx_transactions_user_date"},
+            new String[]{"accounts", "idx_accounts_user_payment_types"});
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        for (String[] index : SUPERSEDED) {
+            try {
+                Integer present = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.statistics " +
+                        "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?", Integer.class, index[0], index[1]);
+                if (present != null && present > 0) {
+                    jdbcTemplate.execute("ALTER TABLE " + index[0] + " DROP INDEX " + index[1]);
+                    log.info("Dropped superseded index {}.{}", index[0], index[1]);
+                }
+            } catch (DataAccessException e) {
+                log.info("Kept index {}.{}: {}", index[0], index[1], e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+}
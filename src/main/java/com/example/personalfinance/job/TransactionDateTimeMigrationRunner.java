@@ -0,0 +1,49 @@
+package com.example.personalfinance.job;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Dates legacy rows without a date_time by their creation time, then makes the column NOT NULL;
+// ddl-auto=update never tightens an existing column on its own
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransactionDateTimeMigrationRunner implements ApplicationRunner {
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long migrated = 0;
+        boolean undated = !jdbcTemplate.queryForList("SELECT id FROM transactions WHERE date_time IS NULL LIMIT 1",
+                Integer.class).isEmpty();
+        while (undated) {
+            int updated = jdbcTemplate.update("UPDATE transactions SET date_time = UNIX_TIMESTAMP(created_at) * 1000 " +
+                    "WHERE date_time IS NULL LIMIT " + BATCH_SIZE);
+            migrated += updated;
+            undated = updated == BATCH_SIZE;
+        }
+        if (migrated > 0) {
+            log.info("Dated {} transaction(s) without a date_time by their creation time", migrated);
+        }
+        try {
+            List<String> nullable = jdbcTemplate.queryForList("SELECT is_nullable FROM information_schema.columns " +
+                    "WHERE table_schema = DATABASE() AND table_name = 'transactions' AND column_name = 'date_time'",
+                    String.class);
+            if (nullable.contains("YES")) {
+                jdbcTemplate.execute("ALTER TABLE transactions MODIFY date_time BIGINT NOT NULL");
+                log.info("transactions.date_time is now NOT NULL");
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not make transactions.date_time NOT NULL", e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.personalfinance.job;
+
+import com.example.personalfinance.service.TransactionTierService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Nightly: moves transactions older than the horizon to transactions_cold, one committed batch at a time
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "transaction.tiering.enabled", havingValue = "true")
+public class TransactionTieringJob {
+    private final TransactionTierService transactionTierService;
+
+    @Value("${transaction.tiering.batch-size}")
+    private int batchSize;
+
+    @Value("${transaction.tiering.max-batches}")
+    private int maxBatches;
+
+    @Scheduled(cron = "${transaction.tiering.cron}")
+    public void run() {
+        long moved = 0;
+        int batches = 0;
+        int last;
+        do {
+            last = transactionTierService.moveBatch(batchSize);
+            moved += last;
+        } while (last == batchSize && ++batches < maxBatches);
+        if (moved > 0) {
+            log.info("Moved {} transaction(s) to the cold tier", moved);
+        }
+    }
+}
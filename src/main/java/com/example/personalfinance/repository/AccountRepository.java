@@ -1,8 +1,12 @@
 package com.example.personalfinance.repository;
 
+import com.example.personalfinance.bean.response.AccountResponse;
 import com.example.personalfinance.entity.Account;
 import com.example.personalfinance.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,5 +15,27 @@ import java.util.List;
 public interface AccountRepository extends JpaRepository<Account, Integer> {
     List<Account> findAllByUser(User user);
     List<Account> findAllByUserAndIsDeletedFalse(User user);
-    
+
+    @Query("select a.accountId from Account a")
+    List<Integer> findAllAccountIds();
+
+    @Query("select new com.example.personalfinance.bean.response.AccountResponse(" +
+            "a.accountId, a.name, a.currentBalance, a.paymentTypeMask, " +
+            "coalesce(sum(case when c.type = 'expense' then t.amount else 0.0 end), 0.0), " +
+            "coalesce(sum(case when c.type = 'income' then t.amount else 0.0 end), 0.0)) " +
+            "from Account a left join Transaction t on t.account = a left join t.category c " +
+            "where a.user = :user and a.isDeleted = false " +
+            "group by a.accountId, a.name, a.currentBalance, a.paymentTypeMask")
+    List<AccountResponse> findSummariesByUser(@Param("user") User user);
+
+    // Native, so the soft-delete filter is spelled out; covered by idx_accounts_deleted_user_payment_types: the mask test runs on index entries for the user only
+    @Query(value = "SELECT * FROM accounts WHERE user_id = ?1 AND deleted = false " +
+            "AND (payment_type_mask & ?2) <> 0 ORDER BY account_id", nativeQuery = true)
+    List<Account> findAcceptingPaymentType(Integer userId, int paymentTypeBit);
+
+    // Applies the delta in a single UPDATE so concurrent writers never overwrite each other's balance
+    @Modifying(flushAutomatically = true)
+    @Query("update Account a set a.currentBalance = a.currentBalance + :delta " +
+            "where a.accountId = :accountId and a.isDeleted = false")
+    int applyBalanceDelta(@Param("accountId") int accountId, @Param("delta") double delta);
 }
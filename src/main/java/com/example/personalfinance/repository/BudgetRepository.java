@@ -1,24 +1,40 @@
 package com.example.personalfinance.repository;
 
 import com.example.personalfinance.entity.Budget;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface BudgetRepository extends JpaRepository<Budget, Long> {
-    @Query(value = "SELECT budget.id, budget.amount, budget.category_id, budget.user_id, " +
-            "(SELECT SUM(transaction.amount) " +
-            "FROM transaction WHERE transaction.user_id = ?1 && budget.category_id = transaction.category_category_id " +
-            "&& transaction.date_time >= UNIX_TIMESTAMP('2023-07-01 00:00:00') * 1000 " +
-            "AND transaction.date_time <= UNIX_TIMESTAMP('2023-07-31 00:00:00') * 1000 ) AS used, " +
-            "(budget.amount - (SELECT SUM(transaction.amount) " +
-            "FROM transaction WHERE transaction.user_id = ?1 && budget.category_id = transaction.category_category_id " +
-            "&& transaction.date_time >= UNIX_TIMESTAMP('2023-07-01 00:00:00') * 1000 " +
-            "AND transaction.date_time <= UNIX_TIMESTAMP('2023-07-31 00:00:00') * 1000 )) AS balance " +
-            "FROM budget WHERE budget.user_id=?1", nativeQuery = true)
-    List<Budget> findAllByUser(Integer user_id);
+    @Query("select b from Budget b left join fetch b.category where b.user.userId = :userId")
+    List<Budget> findAllByUser(@Param("userId") Integer userId);
 
+    // balance is assigned first so it is computed from the old used value on every database
+    @Modifying
+    @Query("update Budget b set " +
+            "b.balance = b.amount - (coalesce(b.used, 0) + :amount), " +
+            "b.used = coalesce(b.used, 0) + :amount " +
+            "where b.user.userId = :userId and b.category.categoryId = :categoryId")
+    int applyUsageDelta(@Param("userId") Integer userId, @Param("categoryId") Integer categoryId,
+                        @Param("amount") double amount);
+
+    @Query("select distinct b.user.userId from Budget b")
+    List<Integer> findAllUserIds();
+
+    // Its own transaction per call, so a rollover locks one user's budgets at a time
+    @Transactional
+    @Modifying
+    @Query("update Budget b set " +
+            "b.balance = b.amount - coalesce((select sum(t.amount) from Transaction t " +
+            "where t.user = b.user and t.category = b.category and t.dateTime >= :from and t.dateTime < :to), 0), " +
+            "b.used = coalesce((select sum(t.amount) from Transaction t " +
+            "where t.user = b.user and t.category = b.category and t.dateTime >= :from and t.dateTime < :to), 0) " +
+            "where b.user.userId = :userId")
+    int recomputeUsage(@Param("userId") Integer userId, @Param("from") long from, @Param("to") long to);
 }
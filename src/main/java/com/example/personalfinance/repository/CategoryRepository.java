@@ -6,8 +6,11 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface CategoryRepository extends JpaRepository {
+public interface CategoryRepository extends JpaRepository<Category, Integer> {
     public List<Category> findAllByUserId(User userId);
+
+    Optional<Category> findByCategoryIdAndUserId(int categoryId, User userId);
 }
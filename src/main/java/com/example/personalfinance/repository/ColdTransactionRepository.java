@@ -0,0 +1,99 @@
+package com.example.personalfinance.repository;
+
+import com.example.personalfinance.bean.response.CategoryTotals;
+import com.example.personalfinance.bean.response.CategoryTransactionRow;
+import com.example.personalfinance.bean.response.TransactionExportRow;
+import com.example.personalfinance.entity.Account;
+import com.example.personalfinance.entity.ColdTransaction;
+import com.example.personalfinance.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+// Mirrors the TransactionRepository reads that can reach past the tiering horizon
+@Repository
+public interface ColdTransactionRepository extends JpaRepository<ColdTransaction, Integer> {
+    List<ColdTransaction> findAllByUser(User user);
+
+    List<ColdTransaction> findAllByUserAndAccount(User user, Account account);
+
+    @Query("select t from ColdTransaction t left join fetch t.category left join fetch t.account " +
+            "where t.user.userId = :userId order by t.dateTime desc, t.id desc")
+    List<ColdTransaction> findFirstPageByUser(@Param("userId") Integer userId, Limit limit);
+
+    @Query("select t from ColdTransaction t left join fetch t.category left join fetch t.account " +
+            "where t.user.userId = :userId and (t.dateTime < :dateTime or (t.dateTime = :dateTime and t.id < :id)) " +
+            "order by t.dateTime desc, t.id desc")
+    List<ColdTransaction> findPageByUserAfter(@Param("userId") Integer userId, @Param("dateTime") Long dateTime,
+                                              @Param("id") Integer id, Limit limit);
+
+    @Query("select t from ColdTransaction t left join fetch t.category left join fetch t.account " +
+            "where t.user.userId = :userId and t.paymentType = :paymentType order by t.dateTime desc, t.id desc")
+    List<ColdTransaction> findFirstPageByUserAndPaymentType(@Param("userId") Integer userId,
+                                                            @Param("paymentType") String paymentType, Limit limit);
+
+    @Query("select t from ColdTransaction t left join fetch t.category left join fetch t.account " +
+            "where t.user.userId = :userId and t.paymentType = :paymentType " +
+            "and (t.dateTime < :dateTime or (t.dateTime = :dateTime and t.id < :id)) " +
+            "order by t.dateTime desc, t.id desc")
+    List<ColdTransaction> findPageByUserAndPaymentTypeAfter(@Param("userId") Integer userId,
+                                                            @Param("paymentType") String paymentType,
+                                                            @Param("dateTime") Long dateTime, @Param("id") Integer id,
+                                                            Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.example.personalfinance.bean.response.TransactionExportRow(" +
+            "t.id, t.dateTime, t.amount, t.description, t.paymentType, c.name, c.type, a.accountId, a.name) " +
+            "from ColdTransaction t left join t.category c left join t.account a " +
+            "where t.user.userId = :userId and t.dateTime >= :from and t.dateTime < :to " +
+            "and (:accountId is null or a.accountId = :accountId) " +
+            "order by t.dateTime, t.id")
+    Stream<TransactionExportRow> streamForExport(@Param("userId") Integer userId, @Param("from") long from,
+                                                 @Param("to") long to, @Param("accountId") Integer accountId);
+
+    @Query("select t.category.categoryId, sum(t.amount) from ColdTransaction t " +
+            "where t.user.userId = :userId and t.category.type = 'expense' " +
+            "and t.dateTime >= :from and t.dateTime < :to " +
+            "group by t.category.categoryId")
+    List<Object[]> sumExpensesByCategory(@Param("userId") Integer userId, @Param("from") long from, @Param("to") long to);
+
+    // {accountId, expenses, income} over the whole cold history
+    @Query("select t.account.accountId, " +
+            "coalesce(sum(case when c.type = 'expense' then t.amount else 0.0 end), 0.0), " +
+            "coalesce(sum(case when c.type = 'income' then t.amount else 0.0 end), 0.0) " +
+            "from ColdTransaction t left join t.category c " +
+            "where t.user.userId = :userId " +
+            "group by t.account.accountId")
+    List<Object[]> sumByAccount(@Param("userId") Integer userId);
+
+    @Query("select new com.example.personalfinance.bean.response.CategoryTransactionRow(" +
+            "t.id, t.dateTime, t.amount, t.description, t.paymentType, a.accountId, a.name) " +
+            "from ColdTransaction t left join t.account a " +
+            "where t.user.userId = :userId and t.category.categoryId = :categoryId " +
+            "and t.dateTime >= :from and t.dateTime < :to " +
+            "and (t.dateTime < :dateTime or (t.dateTime = :dateTime and t.id < :id)) " +
+            "order by t.dateTime desc, t.id desc")
+    List<CategoryTransactionRow> findCategoryPageAfter(@Param("userId") Integer userId, @Param("categoryId") Integer categoryId,
+                                                       @Param("from") long from, @Param("to") long to,
+                                                       @Param("dateTime") Long dateTime, @Param("id") Integer id,
+                                                       Limit limit);
+
+    @Query("select new com.example.personalfinance.bean.response.CategoryTotals(" +
+            "count(t), coalesce(sum(t.amount), 0.0), min(t.dateTime), max(t.dateTime)) " +
+            "from ColdTransaction t " +
+            "where t.user.userId = :userId and t.category.categoryId = :categoryId " +
+            "and t.dateTime >= :from and t.dateTime < :to")
+    CategoryTotals getCategoryTotals(@Param("userId") Integer userId, @Param("categoryId") Integer categoryId,
+                                     @Param("from") long from, @Param("to") long to);
+}
@@ -2,9 +2,15 @@ package com.example.personalfinance.repository;
 
 import com.example.personalfinance.entity.Debt;
 import com.example.personalfinance.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Repository
@@ -12,4 +18,26 @@ public interface DebtRepository extends JpaRepository<Debt, Integer> {
     List<Debt> findAllByUser(User user);
     List<Debt> findAllByUserOrderByDueDateAsc(User user);
     List<Debt> findAllByUserOrderByAmountDesc(User user);
+
+    @Query("select d from Debt d where d.user = :user and d.dueDate between :from and :to order by d.dueDate, d.debtId")
+    List<Debt> findUpcoming(@Param("user") User user, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Keyset page in idx_debts_due_date_user order (due date, user, id) over open debts due in [from, to] that
+    // have not been reminded for their current due date; the walk starts from (from, 0, 0)
+    @Query("select d from Debt d join fetch d.user u " +
+            "where d.dueDate between :from and :to " +
+            "and (d.status is null or lower(d.status) not in ('paid', 'settled')) " +
+            "and (d.reminderSentFor is null or d.reminderSentFor <> d.dueDate) " +
+            "and (d.dueDate > :afterDueDate or (d.dueDate = :afterDueDate " +
+            "and (d.user.userId > :afterUserId or (d.user.userId = :afterUserId and d.debtId > :afterDebtId)))) " +
+            "order by d.dueDate, d.user.userId, d.debtId")
+    List<Debt> findDueForReminder(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                  @Param("afterDueDate") LocalDate afterDueDate,
+                                  @Param("afterUserId") int afterUserId, @Param("afterDebtId") int afterDebtId,
+                                  Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("update Debt d set d.reminderSentFor = d.dueDate where d.debtId in :ids")
+    int markReminded(@Param("ids") List<Integer> ids);
 }
@@ -0,0 +1,25 @@
+package com.example.personalfinance.repository;
+
+import com.example.personalfinance.entity.ForecastRebuild;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ForecastRebuildRepository extends JpaRepository<ForecastRebuild, Integer> {
+    @Modifying
+    @Query(value = "INSERT INTO forecast_rebuilds (account_id, requests) VALUES (?1, 1) " +
+            "ON DUPLICATE KEY UPDATE requests = requests + 1", nativeQuery = true)
+    void request(Integer accountId);
+
+    List<ForecastRebuild> findAllByAccountIdGreaterThanOrderByAccountId(Integer accountId, Limit limit);
+
+    // Only clears the row if no request arrived since it was read
+    @Modifying
+    @Query(value = "DELETE FROM forecast_rebuilds WHERE account_id = ?1 AND requests = ?2", nativeQuery = true)
+    int complete(Integer accountId, long requests);
+}
@@ -0,0 +1,28 @@
+package com.example.personalfinance.repository;
+
+import com.example.personalfinance.entity.MailOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, Long> {
+    // SKIP LOCKED lets several workers claim disjoint batches without waiting on each other
+    @Query(value = "SELECT * FROM mail_outbox WHERE status = 'PENDING' AND next_attempt_at <= ?1 " +
+            "ORDER BY next_attempt_at, id LIMIT ?2 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<MailOutbox> lockDue(LocalDateTime now, int limit);
+
+    @Modifying
+    @Query("update MailOutbox m set m.nextAttemptAt = :leaseUntil where m.id in :ids")
+    int lease(@Param("ids") List<Long> ids, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Query("update MailOutbox m set m.status = com.example.personalfinance.entity.MailOutbox.Status.SENT, " +
+            "m.sentAt = :sentAt, m.lastError = null where m.id in :ids")
+    int markSent(@Param("ids") List<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+}
@@ -0,0 +1,93 @@
+package com.example.personalfinance.repository;
+
+import com.example.personalfinance.entity.MonthlyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MonthlyRollupRepository extends JpaRepository<MonthlyRollup, Long> {
+    @Modifying
+    @Query(value = "INSERT INTO monthly_rollups (user_id, period_month, category_id, income_sum, expense_sum, txn_count) " +
+            "VALUES (?1, ?2, ?3, ?4, ?5, ?6) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "income_sum = income_sum + ?4, " +
+            "expense_sum = expense_sum + ?5, " +
+            "txn_count = txn_count + ?6", nativeQuery = true)
+    void applyDelta(Integer userId, int periodMonth, Integer categoryId, double income, double expense, long count);
+
+    @Modifying
+    @Query(value = "DELETE FROM monthly_rollups WHERE user_id = ?1", nativeQuery = true)
+    void deleteByUserId(Integer userId);
+
+    @Query(value = "SELECT MIN(t.date_time), MAX(t.date_time) FROM (\n" +
+            "    SELECT date_time FROM transactions WHERE deleted = false AND user_id = ?1\n" +
+            "    UNION ALL\n" +
+            "    SELECT date_time FROM transactions_cold WHERE user_id = ?1\n" +
+            ") t", nativeQuery = true)
+    List<Object[]> findDateTimeBounds(Integer userId);
+
+    // One month per call; the caller computes [from, to) in the JVM zone, like the periods applyDelta is given
+    @Modifying
+    @Query(value = "INSERT INTO monthly_rollups (user_id, period_month, category_id, income_sum, expense_sum, txn_count)\n" +
+            "SELECT\n" +
+            "    ?1,\n" +
+            "    ?2,\n" +
+            "    t.category_category_id,\n" +
+            "    COALESCE(SUM(CASE WHEN c.category_type = 'income' THEN t.amount END), 0),\n" +
+            "    COALESCE(SUM(CASE WHEN c.category_type = 'expense' THEN t.amount END), 0),\n" +
+            "    COUNT(*)\n" +
+            "FROM (\n" +
+            "    SELECT date_time, category_category_id, amount FROM transactions\n" +
+            "    WHERE deleted = false AND user_id = ?1 AND date_time >= ?3 AND date_time < ?4\n" +
+            "    UNION ALL\n" +
+            "    SELECT date_time, category_category_id, amount FROM transactions_cold\n" +
+            "    WHERE user_id = ?1 AND date_time >= ?3 AND date_time < ?4\n" +
+            ") t\n" +
+            "JOIN categories c ON t.category_category_id = c.category_id\n" +
+            "GROUP BY t.category_category_id", nativeQuery = true)
+    void rebuildMonth(Integer userId, int periodMonth, long from, long to);
+
+    // Rollups keep every category; like the rest of the dashboard, reads skip soft-deleted ones
+    @Query(value = "SELECT\n" +
+            "    r.period_month,\n" +
+            "    COALESCE(SUM(r.expense_sum), 0) AS expenses,\n" +
+            "    COALESCE(SUM(r.income_sum), 0) AS income\n" +
+            "FROM monthly_rollups r\n" +
+            "JOIN categories c ON r.category_id = c.category_id\n" +
+            "WHERE r.user_id = ?1 AND r.period_month BETWEEN ?2 AND ?3 AND c.deleted = false\n" +
+            "GROUP BY r.period_month\n" +
+            "ORDER BY r.period_month;", nativeQuery = true)
+    List<Object[]> getMonthlyData(Integer userId, int fromPeriod, int toPeriod);
+
+    @Query(value = "SELECT " +
+            "c.category_name AS category, " +
+            "COALESCE(SUM(r.expense_sum), 0) AS expenses " +
+            "FROM monthly_rollups r " +
+            "JOIN categories c ON r.category_id = c.category_id " +
+            "WHERE r.user_id = ?1 AND r.period_month = ?2 AND c.category_type = 'expense' AND c.deleted = false " +
+            "GROUP BY c.category_name " +
+            "ORDER BY expenses DESC;", nativeQuery = true)
+    List<Object[]> getMonthExpenses(Integer userId, int period);
+
+    @Query(value = "SELECT " +
+            "c.category_name AS category, " +
+            "COALESCE(SUM(r.income_sum), 0) AS income " +
+            "FROM monthly_rollups r " +
+            "JOIN categories c ON r.category_id = c.category_id " +
+            "WHERE r.user_id = ?1 AND r.period_month = ?2 AND c.category_type = 'income' AND c.deleted = false " +
+            "GROUP BY c.category_name " +
+            "ORDER BY income DESC;", nativeQuery = true)
+    List<Object[]> getMonthIncome(Integer userId, int period);
+
+    @Query(value = "SELECT " +
+            "COALESCE(SUM(r.expense_sum), 0) AS total_expenses, " +
+            "COALESCE(SUM(r.income_sum), 0) AS total_income " +
+            "FROM monthly_rollups r " +
+            "JOIN categories c ON r.category_id = c.category_id " +
+            "WHERE r.user_id = ?1 AND r.period_month = ?2 AND c.deleted = false;", nativeQuery = true)
+    List<Object[]> getMonthTotalIncomeAndExpenses(Integer userId, int period);
+}
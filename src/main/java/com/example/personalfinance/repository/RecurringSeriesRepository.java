@@ -0,0 +1,25 @@
+package com.example.personalfinance.repository;
+
+import com.example.personalfinance.entity.RecurringSeries;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RecurringSeriesRepository extends JpaRepository<RecurringSeries, Long> {
+    List<RecurringSeries> findAllByAccountId(Integer accountId);
+
+    // FOR UPDATE, so concurrent folds into the same series queue up behind each other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<RecurringSeries> findAllByAccountIdAndDescriptionKeyAndIncome(Integer accountId, String descriptionKey, boolean income);
+
+    @Modifying
+    @Query(value = "DELETE FROM recurring_series WHERE account_id = :accountId", nativeQuery = true)
+    void deleteByAccountId(@Param("accountId") Integer accountId);
+}
@@ -1,13 +1,22 @@
 package com.example.personalfinance.repository;
 
+import com.example.personalfinance.bean.response.CategoryTotals;
+import com.example.personalfinance.bean.response.CategoryTransactionRow;
+import com.example.personalfinance.bean.response.TransactionExportRow;
 import com.example.personalfinance.entity.Account;
 import com.example.personalfinance.entity.Transaction;
 import com.example.personalfinance.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Integer> {
@@ -15,78 +24,96 @@ public interface TransactionRepository extends JpaRepository<Transaction, Intege
 
     List<Transaction> findAllByAccount(Account account);
 
-    @Query(value = "select * from transactions where category_id =?1", nativeQuery = true)
-    List<Transaction> findByCategory(Integer id);
+    @Query("select t from Transaction t left join fetch t.category left join fetch t.account " +
+            "where t.user = :user order by t.dateTime desc, t.id desc")
+    List<Transaction> findFirstPageByUser(@Param("user") User user, Limit limit);
+
+    @Query("select t from Transaction t left join fetch t.category left join fetch t.account " +
+            "where t.user = :user and (t.dateTime < :dateTime or (t.dateTime = :dateTime and t.id < :id)) " +
+            "order by t.dateTime desc, t.id desc")
+    List<Transaction> findPageByUserAfter(@Param("user") User user, @Param("dateTime") Long dateTime,
+                                          @Param("id") Integer id, Limit limit);
+
+    @Query("select t from Transaction t left join fetch t.category left join fetch t.account " +
+            "where t.user = :user and t.paymentType = :paymentType order by t.dateTime desc, t.id desc")
+    List<Transaction> findFirstPageByUserAndPaymentType(@Param("user") User user, @Param("paymentType") String paymentType,
+                                                        Limit limit);
+
+    @Query("select t from Transaction t left join fetch t.category left join fetch t.account " +
+            "where t.user = :user and t.paymentType = :paymentType " +
+            "and (t.dateTime < :dateTime or (t.dateTime = :dateTime and t.id < :id)) " +
+            "order by t.dateTime desc, t.id desc")
+    List<Transaction> findPageByUserAndPaymentTypeAfter(@Param("user") User user, @Param("paymentType") String paymentType,
+                                                        @Param("dateTime") Long dateTime, @Param("id") Integer id,
+                                                        Limit limit);
 
-    @Query(value = "SELECT\n" +
-            "    subquery.month,\n" +
-            "    COALESCE(expenses, 0) AS expenses,\n" +
-            "    COALESCE(income, 0) AS income\n" +
-            "FROM (\n" +
-            "    SELECT\n" +
-            "        MONTHNAME(DATE_SUB(DATE_FORMAT(NOW(), '%Y-%m-01'), INTERVAL n.num MONTH)) AS month,\n" +
-            "        ROW_NUMBER() OVER (ORDER BY n.num DESC) AS rn\n" +
-            "    FROM\n" +
-            "        (SELECT 0 AS num UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4 UNION ALL SELECT 5) AS n\n" +
-            ") AS subquery\n" +
-            "LEFT JOIN (\n" +
-            "    SELECT\n" +
-            "        MONTHNAME(FROM_UNIXTIME(t.date_time/1000)) AS month,\n" +
-            "        SUM(CASE WHEN type = 'expense' THEN amount ELSE 0 END) AS expenses,\n" +
-            "        SUM(CASE WHEN type = 'income' THEN amount ELSE 0 END) AS income\n" +
-            "    FROM transaction t\n" +
-            "    JOIN category c ON t.category_category_id = c.category_id\n" +
-            "    WHERE\n" +
-            "        t.user_id = ?1 AND\n" +
-            "        FROM_UNIXTIME(t.date_time/1000) >= DATE_SUB(DATE_FORMAT(NOW(), '%Y-%m-01'), INTERVAL 5 MONTH)\n" +
-            "    GROUP BY month\n" +
-            ") AS data ON subquery.month = data.month\n" +
-            "ORDER BY subquery.rn DESC;", nativeQuery = true)
-    List<Object[]> getMonthlyData(Integer userId);
+    // Category drill-down, served by idx_transactions_deleted_user_category_date; InnoDB appends the primary key
+    // to secondary indexes, so (date_time desc, id desc) comes straight off the index
+    @Query("select new com.example.personalfinance.bean.response.CategoryTransactionRow(" +
+            "t.id, t.dateTime, t.amount, t.description, t.paymentType, a.accountId, a.name) " +
+            "from Transaction t left join t.account a " +
+            "where t.user.userId = :userId and t.category.categoryId = :categoryId " +
+            "and t.dateTime >= :from and t.dateTime < :to " +
+            "order by t.dateTime desc, t.id desc")
+    List<CategoryTransactionRow> findCategoryPage(@Param("userId") Integer userId, @Param("categoryId") Integer categoryId,
+                                                  @Param("from") long from, @Param("to") long to, Limit limit);
 
-    @Query(value = "SELECT " +
-            "c.name AS category, " +
-            "COALESCE(SUM(t.amount), 0) AS expenses " +
-            "FROM " +
-            "transaction t " +
-            "JOIN category c ON t.category_category_id = c.category_id " +
-            "WHERE " +
-            "t.user_id = ?1 " +
-            "AND c.type = 'expense' " +
-            "AND MONTH(FROM_UNIXTIME(t.date_time/1000)) = MONTH(NOW()) " +
-            "AND YEAR(FROM_UNIXTIME(t.date_time/1000)) = YEAR(NOW()) " +
-            "GROUP BY " +
-            "c.name " +
-            "ORDER BY " +
-            "expenses DESC;", nativeQuery = true)
-    List<Object[]> getThisMonthExpenses(Integer userId);
+    @Query("select new com.example.personalfinance.bean.response.CategoryTransactionRow(" +
+            "t.id, t.dateTime, t.amount, t.description, t.paymentType, a.accountId, a.name) " +
+            "from Transaction t left join t.account a " +
+            "where t.user.userId = :userId and t.category.categoryId = :categoryId " +
+            "and t.dateTime >= :from and t.dateTime < :to " +
+            "and (t.dateTime < :dateTime or (t.dateTime = :dateTime and t.id < :id)) " +
+            "order by t.dateTime desc, t.id desc")
+    List<CategoryTransactionRow> findCategoryPageAfter(@Param("userId") Integer userId, @Param("categoryId") Integer categoryId,
+                                                       @Param("from") long from, @Param("to") long to,
+                                                       @Param("dateTime") Long dateTime, @Param("id") Integer id,
+                                                       Limit limit);
 
-    @Query(value = "SELECT " +
-            "c.name AS category, " +
-            "COALESCE(SUM(t.amount), 0) AS income " +
-            "FROM " +
-            "transaction t " +
-            "JOIN category c ON t.category_category_id = c.category_id " +
-            "WHERE " +
-            "t.user_id = ?1 " +
-            "AND c.type = 'income' " +
-            "AND MONTH(FROM_UNIXTIME(t.date_time/1000)) = MONTH(NOW()) " +
-            "AND YEAR(FROM_UNIXTIME(t.date_time/1000)) = YEAR(NOW()) " +
-            "GROUP BY " +
-            "c.name " +
-            "ORDER BY " +
-            "income DESC;", nativeQuery = true)
-    List<Object[]> getThisMonthIncome(Integer userId);
+    @Query("select new com.example.personalfinance.bean.response.CategoryTotals(" +
+            "count(t), coalesce(sum(t.amount), 0.0), min(t.dateTime), max(t.dateTime)) " +
+            "from Transaction t " +
+            "where t.user.userId = :userId and t.category.categoryId = :categoryId " +
+            "and t.dateTime >= :from and t.dateTime < :to")
+    CategoryTotals getCategoryTotals(@Param("userId") Integer userId, @Param("categoryId") Integer categoryId,
+                                     @Param("from") long from, @Param("to") long to);
 
-    @Query(value = "SELECT\n" +
-            "    COALESCE(SUM(CASE WHEN c.type = 'expense' THEN t.amount END), 0) AS total_expenses,\n" +
-            "    COALESCE(SUM(CASE WHEN c.type = 'income' THEN t.amount END), 0) AS total_income\n" +
-            "FROM\n" +
-            "    transaction t\n" +
-            "    JOIN category c ON t.category_category_id = c.category_id\n" +
-            "WHERE\n" +
-            "    t.user_id = ?1\n" +
-            "    AND MONTH(FROM_UNIXTIME(t.date_time/1000)) = MONTH(NOW())\n" +
-            "    AND YEAR(FROM_UNIXTIME(t.date_time/1000)) = YEAR(NOW());", nativeQuery = true)
-    List<Object[]> getThisMonthTotalIncomeAndExpenses(Integer userId);
+    // Integer.MIN_VALUE makes MySQL Connector/J stream rows instead of buffering the whole result set
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.example.personalfinance.bean.response.TransactionExportRow(" +
+            "t.id, t.dateTime, t.amount, t.description, t.paymentType, c.name, c.type, a.accountId, a.name) " +
+            "from Transaction t left join t.category c left join t.account a " +
+            "where t.user.userId = :userId and t.dateTime >= :from and t.dateTime < :to " +
+            "and (:accountId is null or a.accountId = :accountId) " +
+            "order by t.dateTime, t.id")
+    Stream<TransactionExportRow> streamForExport(@Param("userId") Integer userId, @Param("from") long from,
+                                                 @Param("to") long to, @Param("accountId") Integer accountId);
+
+    // Both tiers in one cursor ordered by (date_time, id): a back-dated add or a thawed row can put live rows
+    // before cold ones. Rows are (id, date_time, amount, description, category_type).
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(value = "SELECT t.id, t.date_time, t.amount, t.description, c.category_type FROM transactions t " +
+            "JOIN categories c ON c.category_id = t.category_category_id AND c.deleted = false " +
+            "WHERE t.account_account_id = :accountId AND t.deleted = false AND t.date_time IS NOT NULL " +
+            "UNION ALL " +
+            "SELECT t.id, t.date_time, t.amount, t.description, c.category_type FROM transactions_cold t " +
+            "JOIN categories c ON c.category_id = t.category_category_id AND c.deleted = false " +
+            "WHERE t.account_account_id = :accountId AND t.date_time IS NOT NULL " +
+            "ORDER BY date_time, id", nativeQuery = true)
+    Stream<Object[]> streamForRecurring(@Param("accountId") Integer accountId);
+
+    @Query("select t.category.categoryId, sum(t.amount) from Transaction t " +
+            "where t.user.userId = :userId and t.category.type = 'expense' " +
+            "and t.dateTime >= :from and t.dateTime < :to " +
+            "group by t.category.categoryId")
+    List<Object[]> sumExpensesByCategory(@Param("userId") Integer userId, @Param("from") long from, @Param("to") long to);
+
+    @Query(value = "select * from transactions where deleted = false and category_category_id =?1", nativeQuery = true)
+    List<Transaction> findByCategory(Integer id);
 }
@@ -0,0 +1,19 @@
+package com.example.personalfinance.repository;
+
+import com.example.personalfinance.entity.TransactionSearchTerm;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TransactionSearchTermRepository extends JpaRepository<TransactionSearchTerm, Long> {
+    @Modifying
+    @Query(value = "DELETE FROM transaction_search_terms WHERE transaction_id = :transactionId", nativeQuery = true)
+    void deleteByTransactionId(@Param("transactionId") Integer transactionId);
+
+    @Modifying
+    @Query(value = "DELETE FROM transaction_search_terms WHERE user_id = :userId", nativeQuery = true)
+    void deleteByUserId(@Param("userId") Integer userId);
+}
@@ -1,12 +1,28 @@
 package com.example.personalfinance.repository;
 
+import com.example.personalfinance.bean.UserIdentity;
 import com.example.personalfinance.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, Integer>{
     Optional<User> findByEmail(String email);
     Boolean existsByEmail(String email);
+
+    @Query("select new com.example.personalfinance.bean.UserIdentity(u.userId, u.email, u.firstName, u.lastName) " +
+            "from User u where u.email = :email")
+    Optional<UserIdentity> findIdentityByEmail(@Param("email") String email);
+
+    @Modifying
+    @Query("update User u set u.profileImageHash = :hash where u.userId = :userId")
+    int updateProfileImageHash(@Param("userId") int userId, @Param("hash") String hash);
+
+    @Query("select u.userId from User u")
+    List<Integer> findAllUserIds();
 }
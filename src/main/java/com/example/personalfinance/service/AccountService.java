@@ -2,6 +2,7 @@ package com.example.personalfinance.service;
 
 import com.example.personalfinance.bean.response.AccountResponse;
 import com.example.personalfinance.entity.Account;
+import com.example.personalfinance.entity.PaymentType;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -24,6 +25,8 @@ public interface AccountService {
 
     List<AccountResponse> getAccountsByUsername(String username);
 
+    List<Account> getAccountsAccepting(String username, PaymentType paymentType);
+
     Account getAccountById(Integer id);
 
 
@@ -0,0 +1,13 @@
+package com.example.personalfinance.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+public interface BlobStore {
+    // Stores the content and returns its lowercase hex SHA-256; identical content is stored once
+    String put(InputStream content) throws IOException;
+
+    Optional<Path> resolve(String hash);
+}
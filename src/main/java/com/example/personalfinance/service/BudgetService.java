@@ -1,8 +1,11 @@
 package com.example.personalfinance.service;
 
 import com.example.personalfinance.bean.request.BudgetRequest;
+import com.example.personalfinance.bean.response.BudgetUsage;
 import com.example.personalfinance.entity.Budget;
+import com.example.personalfinance.entity.Transaction;
 import com.example.personalfinance.entity.User;
+import com.example.personalfinance.util.EpochRange;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -21,4 +24,12 @@ public interface BudgetService {
     void deleteBudget(Long id);
 
     boolean hasAlready(String userName, int categoryId);
+
+    List<BudgetUsage> getBudgetUsage(String userName, EpochRange period);
+
+    void recordExpense(Transaction transaction);
+
+    void reverseExpense(Transaction transaction);
+
+    void refreshCurrentPeriod();
 }
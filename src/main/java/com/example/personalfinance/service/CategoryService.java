@@ -1,7 +1,9 @@
 package com.example.personalfinance.service;
 
 import com.example.personalfinance.bean.response.BaseResponse;
+import com.example.personalfinance.bean.response.CategoryDrillDown;
 import com.example.personalfinance.entity.Category;
+import com.example.personalfinance.util.EpochRange;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
@@ -18,4 +20,6 @@ public interface CategoryService {
     Category getCategoryById(Integer id);
 
     ResponseEntity<BaseResponse> sortTransaction(Integer categoryId);
+
+    CategoryDrillDown getCategoryDrillDown(String userName, Integer categoryId, EpochRange period, String cursor, Integer size);
 }
@@ -1,25 +1,30 @@
 package com.example.personalfinance.service;
 
+import com.example.personalfinance.bean.response.CategoryTotal;
+import com.example.personalfinance.bean.response.DashboardSummary;
+import com.example.personalfinance.bean.response.IncomeExpenseTotal;
+import com.example.personalfinance.bean.response.MonthlyTotal;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.Map;
 
 @Service
 public interface DashboardService {
-    List<Map<String, Object>> getMonthlyData(String userName);
+    DashboardSummary getSummary(String userName);
 
-    List<Map<String, Object>> convertMonthlyData(List<Object[]> queryResult);
+    List<MonthlyTotal> getMonthlyData(String userName);
 
-    List<Map<String, Object>> convertThisMonthExpenses(List<Object[]> queryResult);
+    List<MonthlyTotal> convertMonthlyData(List<Object[]> queryResult);
 
-    List<Map<String, Object>> convertThisMonthIncome(List<Object[]> queryResult);
+    List<CategoryTotal> convertThisMonthExpenses(List<Object[]> queryResult);
 
-    Map<String, Object> convertThisMonthTotalIncomeAndExpenses(List<Object[]> queryResult);
+    List<CategoryTotal> convertThisMonthIncome(List<Object[]> queryResult);
 
-    List<Map<String, Object>> getThisMonthExpenses(String userName);
+    IncomeExpenseTotal convertThisMonthTotalIncomeAndExpenses(List<Object[]> queryResult);
 
-    List<Map<String, Object>> getThisMonthIncome(String userName);
+    List<CategoryTotal> getThisMonthExpenses(String userName);
 
-    Map<String, Object> getThisMonthTotalIncomeAndExpenses(String userName);
+    List<CategoryTotal> getThisMonthIncome(String userName);
+
+    IncomeExpenseTotal getThisMonthTotalIncomeAndExpenses(String userName);
 }
@@ -4,6 +4,7 @@ import com.example.personalfinance.entity.Debt;
 import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.util.Date;
 import java.util.List;
 
@@ -16,6 +17,7 @@ public interface DebtService {
     String debtDelete(Integer dId);
     List<Debt> debGet(String uName, Integer value);
     List<Debt> getAllDebts();
+    List<Debt> getUpcomingDebts(String uName, LocalDate from, LocalDate to);
     Date parseDueDate(String dueDate);
 
 }
@@ -0,0 +1,27 @@
+package com.example.personalfinance.service;
+
+import com.example.personalfinance.bean.response.AccountForecast;
+import com.example.personalfinance.entity.ForecastRebuild;
+import com.example.personalfinance.entity.Transaction;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public interface ForecastService {
+    // Folds a newly added transaction into its account's recurring series
+    void record(Transaction transaction);
+
+    // Refolds the account's series from its whole history; used when history changes other than by appending
+    void rebuild(Integer accountId);
+
+    // Queues a rebuild for ForecastRebuildJob, keeping the refold off the request that changed the history
+    void requestRebuild(Integer accountId);
+
+    List<ForecastRebuild> findRequestedRebuilds(Integer afterAccountId, int limit);
+
+    // Rebuilds the account and clears the request, unless a newer one arrived meanwhile
+    void rebuildRequested(ForecastRebuild request);
+
+    AccountForecast forecast(String userName, Integer accountId, Integer days);
+}
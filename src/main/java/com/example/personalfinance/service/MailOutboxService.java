@@ -0,0 +1,18 @@
+package com.example.personalfinance.service;
+
+import com.example.personalfinance.entity.MailOutbox;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public interface MailOutboxService {
+    // Joins the caller's transaction, so the mail is only sent if the user change commits
+    void enqueue(String recipient, String subject, String body);
+
+    List<MailOutbox> claimBatch();
+
+    void markSent(List<Long> ids);
+
+    void markFailed(List<Long> ids, String error);
+}
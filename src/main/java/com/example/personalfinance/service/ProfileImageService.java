@@ -0,0 +1,12 @@
+package com.example.personalfinance.service;
+
+import com.example.personalfinance.bean.request.ProfileImg;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+
+@Service
+public interface ProfileImageService {
+    // Write path for UserService.updateUserProfileImage; returns the stored image hash
+    String updateProfileImage(ProfileImg profileImg, String userName) throws IOException;
+}
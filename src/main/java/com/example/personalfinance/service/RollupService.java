@@ -0,0 +1,19 @@
+package com.example.personalfinance.service;
+
+import com.example.personalfinance.entity.Transaction;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+
+@Service
+public interface RollupService {
+    void record(Transaction transaction);
+
+    void reverse(Transaction transaction);
+
+    void rebuild(Integer userId);
+
+    int periodOf(YearMonth month);
+
+    int periodOf(long dateTime);
+}
@@ -0,0 +1,13 @@
+package com.example.personalfinance.service;
+
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+@Service
+public interface TransactionExportService {
+    enum Format { CSV, NDJSON }
+
+    void export(String userName, Format format, Long from, Long to, Integer accountId, OutputStream out) throws IOException;
+}
@@ -0,0 +1,12 @@
+package com.example.personalfinance.service;
+
+import com.example.personalfinance.bean.response.ImportResult;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Service
+public interface TransactionImportService {
+    ImportResult importCsv(InputStream csv, String userName) throws IOException;
+}
@@ -0,0 +1,25 @@
+package com.example.personalfinance.service;
+
+import com.example.personalfinance.bean.response.TransactionSearchPage;
+import com.example.personalfinance.entity.Transaction;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public interface TransactionSearchService {
+    void index(Transaction transaction);
+
+    void reindex(Transaction transaction);
+
+    void remove(Integer transactionId);
+
+    // Indexes the given live rows of the user, e.g. the rows one bulk import batch just inserted
+    void index(Integer userId, List<Integer> transactionIds);
+
+    void rebuild(Integer userId);
+
+    // from/to are epoch millis (half-open) and every filter may be null
+    TransactionSearchPage search(String userName, String query, Long from, Long to, Double minAmount, Double maxAmount,
+                                 Integer page, Integer size);
+}
@@ -1,7 +1,9 @@
 package com.example.personalfinance.service;
 
 import com.example.personalfinance.bean.request.TransactionRequest;
+import com.example.personalfinance.bean.response.TransactionPage;
 import com.example.personalfinance.entity.Account;
+import com.example.personalfinance.entity.PaymentType;
 import com.example.personalfinance.entity.Transaction;
 import org.springframework.stereotype.Service;
 
@@ -11,6 +13,10 @@ import java.util.List;
 public interface TransactionService {
     List<Transaction> getTransactionsByUserName(String userName);
 
+    TransactionPage getTransactionsByUserName(String userName, String cursor, Integer size);
+
+    TransactionPage getTransactionsByPaymentType(String userName, PaymentType paymentType, String cursor, Integer size);
+
     List<Transaction> getTransactionsByAccount(String userName, Account account);
 
     void addTransaction(TransactionRequest transactionRequest, String userName);
@@ -0,0 +1,21 @@
+package com.example.personalfinance.service;
+
+import org.springframework.stereotype.Service;
+
+@Service
+public interface TransactionTierService {
+    // Epoch millis; only rows dated before it can live in transactions_cold
+    long coldHorizon();
+
+    boolean reachesCold(long from);
+
+    // Moves one batch of live rows dated before the horizon to the cold table, returns how many moved
+    int moveBatch(int batchSize);
+
+    // Moves one cold row back to the live table, keeping its id, so it can be edited or deleted there;
+    // false if the id is not in the cold table. The mover re-tiers it on its next run if it is still old enough.
+    boolean thaw(int transactionId);
+
+    // Moves one live row dated before the horizon to the cold table; false if it is not eligible
+    boolean freeze(int transactionId);
+}
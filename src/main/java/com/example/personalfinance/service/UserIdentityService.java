@@ -0,0 +1,19 @@
+package com.example.personalfinance.service;
+
+import com.example.personalfinance.bean.UserIdentity;
+import com.example.personalfinance.entity.User;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.stereotype.Service;
+
+@Service
+public interface UserIdentityService {
+    UserIdentity findByEmail(String email);
+
+    User getReference(String email);
+
+    void evict(String email);
+
+    void evict(int userId);
+
+    CacheStats stats();
+}
@@ -25,7 +25,7 @@ public interface UserService {
 
     ResponseEntity<BaseResponse> updatePassord(ProfilePassword profilePassword, String userName);
 
-    ResponseEntity<BaseResponse> login(login login);
+    ResponseEntity<BaseResponse> login(Object login);
 
     // loginDto reference to auth part the project
     void newPassword(String email, String password);
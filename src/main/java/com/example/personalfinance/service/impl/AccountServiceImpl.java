@@ -2,25 +2,28 @@ package com.example.personalfinance.service.impl;
 
 import com.example.personalfinance.bean.response.AccountResponse;
 import com.example.personalfinance.entity.Account;
-import com.example.personalfinance.entity.Transaction;
+import com.example.personalfinance.entity.PaymentType;
 import com.example.personalfinance.entity.User;
 import com.example.personalfinance.repository.AccountRepository;
-import com.example.personalfinance.repository.UserRepository;
+import com.example.personalfinance.repository.ColdTransactionRepository;
 import com.example.personalfinance.service.AccountService;
-import com.example.personalfinance.service.TransactionService;
+import com.example.personalfinance.service.UserIdentityService;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 public class AccountServiceImpl implements AccountService {
     private final AccountRepository accountRepository;
-    private final UserRepository userRepository;
-    private final TransactionService transactionService;
+    private final UserIdentityService userIdentityService;
+    private final ColdTransactionRepository coldTransactionRepository;
 
     @Override
     public boolean hasAccount(String accountId) {
@@ -35,7 +38,7 @@ public class AccountServiceImpl implements AccountService {
     @Override
     public boolean hasPermission(String username, String accountId) {
         try {
-            User user = userRepository.findByEmail(username).orElseThrow();
+            User user = userIdentityService.getReference(username);
             Account entity = accountRepository.getOne(Integer.valueOf(accountId));
             return Objects.equals(entity.getUser().getUserId(), user.getUserId());
         } catch (Exception ignored) {
@@ -44,15 +47,22 @@ public class AccountServiceImpl implements AccountService {
     }
 
     @Override
+    @Transactional
     public void debitBalance(Account account, double amount) {
-        account.setCurrentBalance(account.getCurrentBalance() - amount);
-        accountRepository.save(account);
+        applyBalanceDelta(account, -amount);
     }
 
     @Override
+    @Transactional
     public void creditBalance(Account account, double amount) {
-        account.setCurrentBalance(account.getCurrentBalance() + amount);
-        accountRepository.save(account);
+        applyBalanceDelta(account, amount);
+    }
+
+    private void applyBalanceDelta(Account account, double delta) {
+        int updated = accountRepository.applyBalanceDelta(account.getAccountId(), delta);
+        if (updated == 0) {
+            throw new NoSuchElementException("Account " + account.getAccountId() + " not exist.");
+        }
     }
 
     @Override
@@ -67,7 +77,7 @@ public class AccountServiceImpl implements AccountService {
     @Override
     public void addAccount(Account account, String userName) {
         try{
-            User user = userRepository.findByEmail(userName).orElseThrow();
+            User user = userIdentityService.getReference(userName);
             account.setUser(user);
             accountRepository.save(account);
         }catch(Exception ignored){
@@ -89,36 +99,32 @@ public class AccountServiceImpl implements AccountService {
     @Override
     public List<AccountResponse> getAccountsByUsername(String username) {
         try{
-            User user = userRepository.findByEmail(username).orElseThrow();
-            List<Account> accountList = accountRepository.findAllByUserAndIsDeletedFalse(user);
-            List<AccountResponse> accountResponceList = new ArrayList<>();
-            for (Account account : accountList) {
-                double totalExpenses = 0;
-                double totalIncome = 0;
-            List<Transaction> transactionList = transactionService.getTransactionsByAccount(username, account);
-            for (Transaction transaction : transactionList) {
-                    if(transaction.getCategory().getType().equals("expense")){
-                        totalExpenses += transaction.getAmount();
-                    } else if (transaction.getCategory().getType().equals("income")) {
-                        totalIncome += transaction.getAmount();
-                    }
+            User user = userIdentityService.getReference(username);
+            List<AccountResponse> summaries = accountRepository.findSummariesByUser(user);
+            // Totals are all-time, so the cold tier always contributes
+            Map<Integer, Object[]> cold = new HashMap<>();
+            for (Object[] row : coldTransactionRepository.sumByAccount(user.getUserId())) {
+                cold.put((Integer) row[0], row);
             }
-            AccountResponse accountResponce = new AccountResponse(
-                    account.getAccountId(),
-                    account.getName(),
-                    account.getCurrentBalance(),
-                    account.getPaymentTypes(),
-                    totalExpenses,
-                    totalIncome
-            );
-            accountResponceList.add(accountResponce);
+            for (AccountResponse summary : summaries) {
+                Object[] row = cold.get(summary.getAccountId());
+                if (row != null) {
+                    summary.setTotalExpense(summary.getTotalExpense() + ((Number) row[1]).doubleValue());
+                    summary.setTotalIncome(summary.getTotalIncome() + ((Number) row[2]).doubleValue());
+                }
             }
-            return accountResponceList;
+            return summaries;
         }catch(Exception e ){
             return null;
         }
     }
 
+    @Override
+    public List<Account> getAccountsAccepting(String username, PaymentType paymentType) {
+        User user = userIdentityService.getReference(username);
+        return accountRepository.findAcceptingPaymentType(user.getUserId(), paymentType.bit());
+    }
+
     @Override
     public Account getAccountById(Integer id) {
         return accountRepository.findById(id).orElseThrow();
@@ -1,17 +1,28 @@
 package com.example.personalfinance.service.impl;
 
 import com.example.personalfinance.bean.request.BudgetRequest;
+import com.example.personalfinance.bean.response.BudgetUsage;
 import com.example.personalfinance.entity.Budget;
 import com.example.personalfinance.entity.Category;
+import com.example.personalfinance.entity.Transaction;
 import com.example.personalfinance.entity.User;
 import com.example.personalfinance.repository.BudgetRepository;
-import com.example.personalfinance.repository.UserRepository;
+import com.example.personalfinance.repository.ColdTransactionRepository;
+import com.example.personalfinance.repository.TransactionRepository;
 import com.example.personalfinance.service.BudgetService;
 import com.example.personalfinance.service.CategoryService;
+import com.example.personalfinance.service.TransactionTierService;
+import com.example.personalfinance.service.UserIdentityService;
+import com.example.personalfinance.util.EpochRange;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -19,7 +30,10 @@ import java.util.Optional;
 public class BudgetServiceImpl implements BudgetService {
     private final BudgetRepository budgetRepository;
     private final CategoryService categoryService;
-                  UserRepository userRepository;
+    private final UserIdentityService userIdentityService;
+    private final TransactionRepository transactionRepository;
+    private final ColdTransactionRepository coldTransactionRepository;
+    private final TransactionTierService transactionTierService;
 
     @Override
     public List<Budget> getAllBudgetByUser(User user) {
@@ -34,13 +48,22 @@ public class BudgetServiceImpl implements BudgetService {
     @Override
     public Budget createBudget(BudgetRequest budgetRequest, String userName) {
         Category category = categoryService.getCategoryById(budgetRequest.getCategoryId());
-        User user = userRepository.findByEmail(userName).orElseThrow();
-        Budget budget = new Budget(category, budgetRequest.getAmount(), user,0L,0L);
+        User user = userIdentityService.getReference(userName);
+        // Expenses already booked this month count against the new budget straight away
+        EpochRange month = EpochRange.ofMonth(YearMonth.now());
+        double used = expensesByCategory(user.getUserId(), month).getOrDefault(category.getCategoryId(), 0.0);
+        Budget budget = new Budget(category, budgetRequest.getAmount(), user, used, budgetRequest.getAmount() - used);
         return budgetRepository.save(budget);
     }
 
     @Override
+    // used is maintained server-side, so only the amount is taken from the client and balance follows from both
     public Budget updateBudget(Budget budget) {
+        double used = budget.getBudgetId() == null ? 0.0 : budgetRepository.findById(budget.getBudgetId())
+                .map(Budget::getUsed)
+                .orElse(0.0);
+        budget.setUsed(used);
+        budget.setBalance(budget.getAmount() - used);
         return budgetRepository.save(budget);
     }
 
@@ -51,7 +74,7 @@ public class BudgetServiceImpl implements BudgetService {
 
     @Override
     public boolean hasAlready(String userName, int categoryId) {
-        User user = userRepository.findByEmail(userName).orElseThrow();
+        User user = userIdentityService.getReference(userName);
         List<Budget> budgetList = budgetRepository.findAllByUser(user.getUserId());
         boolean isAlready = false;
         for (Budget b : budgetList) {
@@ -62,4 +85,69 @@ public class BudgetServiceImpl implements BudgetService {
         }
         return isAlready;
     }
+
+    @Override
+    public List<BudgetUsage> getBudgetUsage(String userName, EpochRange period) {
+        User user = userIdentityService.getReference(userName);
+        List<Budget> budgetList = budgetRepository.findAllByUser(user.getUserId());
+        Map<Integer, Double> expenses = expensesByCategory(user.getUserId(), period);
+        List<BudgetUsage> usageList = new ArrayList<>(budgetList.size());
+        for (Budget b : budgetList) {
+            double used = expenses.getOrDefault(b.getCategory().getCategoryId(), 0.0);
+            usageList.add(new BudgetUsage(
+                    b.getBudgetId(),
+                    b.getCategory().getCategoryId(),
+                    b.getCategory().getName(),
+                    b.getAmount(),
+                    used,
+                    b.getAmount() - used
+            ));
+        }
+        return usageList;
+    }
+
+    @Override
+    @Transactional
+    public void recordExpense(Transaction transaction) {
+        applyUsage(transaction, transaction.getAmount());
+    }
+
+    @Override
+    @Transactional
+    public void reverseExpense(Transaction transaction) {
+        applyUsage(transaction, -transaction.getAmount());
+    }
+
+    @Override
+    public void refreshCurrentPeriod() {
+        EpochRange month = EpochRange.ofMonth(YearMonth.now());
+        for (Integer userId : budgetRepository.findAllUserIds()) {
+            budgetRepository.recomputeUsage(userId, month.from(), month.to());
+        }
+    }
+
+    // Budget.used/balance track the current month only; other periods go through getBudgetUsage
+    private void applyUsage(Transaction transaction, double amount) {
+        Category category = transaction.getCategory();
+        if (category == null || !"expense".equals(category.getType()) || transaction.getDateTime() == null) {
+            return;
+        }
+        if (!EpochRange.ofMonth(YearMonth.now()).contains(transaction.getDateTime())) {
+            return;
+        }
+        budgetRepository.applyUsageDelta(transaction.getUser().getUserId(), category.getCategoryId(), amount);
+    }
+
+    private Map<Integer, Double> expensesByCategory(Integer userId, EpochRange period) {
+        Map<Integer, Double> expenses = new HashMap<>();
+        for (Object[] row : transactionRepository.sumExpensesByCategory(userId, period.from(), period.to())) {
+            expenses.put((Integer) row[0], ((Number) row[1]).doubleValue());
+        }
+        if (transactionTierService.reachesCold(period.from())) {
+            for (Object[] row : coldTransactionRepository.sumExpensesByCategory(userId, period.from(), period.to())) {
+                expenses.merge((Integer) row[0], ((Number) row[1]).doubleValue(), Double::sum);
+            }
+        }
+        return expenses;
+    }
 }
@@ -1,30 +1,50 @@
 package com.example.personalfinance.service.impl;
 
 import com.example.personalfinance.bean.response.BaseResponse;
+import com.example.personalfinance.bean.response.CategoryDrillDown;
+import com.example.personalfinance.bean.response.CategoryTotals;
+import com.example.personalfinance.bean.response.CategoryTransactionRow;
 import com.example.personalfinance.entity.Category;
 import com.example.personalfinance.entity.Transaction;
 import com.example.personalfinance.entity.User;
 import com.example.personalfinance.repository.CategoryRepository;
+import com.example.personalfinance.repository.ColdTransactionRepository;
 import com.example.personalfinance.repository.TransactionRepository;
-import com.example.personalfinance.repository.UserRepository;
 import com.example.personalfinance.service.CategoryService;
+import com.example.personalfinance.service.TransactionTierService;
+import com.example.personalfinance.service.UserIdentityService;
+import com.example.personalfinance.util.EpochRange;
+import com.example.personalfinance.util.KeysetCursor;
+import com.example.personalfinance.util.KeysetMerge;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.NoSuchElementException;
 
 @Service
 @RequiredArgsConstructor
 public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
-    private final UserRepository userRepository;
+    private final UserIdentityService userIdentityService;
     private final TransactionRepository transactionRepository;
+    private final ColdTransactionRepository coldTransactionRepository;
+    private final TransactionTierService transactionTierService;
+
+    @Value("${transaction.page.default-size}")
+    private int defaultPageSize;
+
+    @Value("${transaction.page.max-size}")
+    private int maxPageSize;
+
     @Override
     public List<Category> getCategoriesByUserName(String userName) {
         try {
-            User user = userRepository.findByEmail(userName).orElseThrow();
+            User user = userIdentityService.getReference(userName);
             return categoryRepository.findAllByUserId(user);
         } catch (Exception e) {
             return null;
@@ -34,7 +54,7 @@ public class CategoryServiceImpl implements CategoryService {
     @Override
     public String addCategories(Category category, String userName) {
         try {
-            User user = userRepository.findByEmail(userName).orElseThrow();
+            User user = userIdentityService.getReference(userName);
             category.setUserId(user);
             categoryRepository.save(category);
             return "success";
@@ -46,18 +66,17 @@ public class CategoryServiceImpl implements CategoryService {
     @Override
     public String deleteCategories(int category_TD) {
         try {
-            Category entity = (Category) categoryRepository.getById(category_TD);
+            Category entity = categoryRepository.getReferenceById(category_TD);
             categoryRepository.delete(entity);
         } catch (Exception e) {
             return e.getMessage();
         }
         return "success";
     }
-     // !!!!!!!!!!!!!!!!NOTICING !!!!!!!!!!!!!!!!!!!!
-     // deleteCategories and getCategoryById have to cast Object to Category to be functional
+
     @Override
     public Category getCategoryById(Integer id) {
-        return (Category) categoryRepository.findById(id).orElseThrow();
+        return categoryRepository.findById(id).orElseThrow();
     }
 
     @Override
@@ -66,5 +85,57 @@ public class CategoryServiceImpl implements CategoryService {
         return ResponseEntity.ok(new BaseResponse("success", transactions));
     }
 
+    @Override
+    public CategoryDrillDown getCategoryDrillDown(String userName, Integer categoryId, EpochRange period,
+                                                  String cursor, Integer size) {
+        User user = userIdentityService.getReference(userName);
+        // Scoping: another user's category id is indistinguishable from a missing one
+        Category category = categoryRepository.findByCategoryIdAndUserId(categoryId, user)
+                .orElseThrow(() -> new NoSuchElementException("Category " + categoryId + " not exist."));
+        int userId = user.getUserId();
+        int pageSize = size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+        Limit limit = Limit.of(pageSize + 1);
+
+        boolean cold = transactionTierService.reachesCold(period.from());
+        CategoryTotals totals = null;
+        List<CategoryTransactionRow> rows;
+        KeysetCursor after;
+        if (cursor == null || cursor.isBlank()) {
+            after = new KeysetCursor(Long.MAX_VALUE, Integer.MAX_VALUE);
+            totals = transactionRepository.getCategoryTotals(userId, categoryId, period.from(), period.to());
+            if (cold) {
+                totals = combine(totals, coldTransactionRepository.getCategoryTotals(userId, categoryId, period.from(), period.to()));
+            }
+            rows = transactionRepository.findCategoryPage(userId, categoryId, period.from(), period.to(), limit);
+        } else {
+            after = KeysetCursor.decode(cursor);
+            rows = transactionRepository.findCategoryPageAfter(userId, categoryId, period.from(), period.to(),
+                    after.dateTime(), after.id(), limit);
+        }
+        if (cold && (rows.size() <= pageSize || rows.get(pageSize).dateTime() < transactionTierService.coldHorizon())) {
+            rows = KeysetMerge.mergeDescending(rows, coldTransactionRepository.findCategoryPageAfter(userId, categoryId,
+                            period.from(), period.to(), after.dateTime(), after.id(), limit),
+                    CategoryTransactionRow::dateTime, CategoryTransactionRow::id, pageSize + 1);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            CategoryTransactionRow last = rows.get(pageSize - 1);
+            nextCursor = new KeysetCursor(last.dateTime(), last.id()).encode();
+        }
+        return new CategoryDrillDown(category.getCategoryId(), category.getName(), category.getType(), totals, rows, nextCursor);
+    }
+
+    private static CategoryTotals combine(CategoryTotals hot, CategoryTotals cold) {
+        if (cold.count() == 0) {
+            return hot;
+        }
+        if (hot.count() == 0) {
+            return cold;
+        }
+        return new CategoryTotals(hot.count() + cold.count(), hot.sum() + cold.sum(),
+                Math.min(hot.firstDateTime(), cold.firstDateTime()), Math.max(hot.lastDateTime(), cold.lastDateTime()));
+    }
 
 }
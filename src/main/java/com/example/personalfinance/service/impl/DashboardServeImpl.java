@@ -1,59 +1,164 @@
 package com.example.personalfinance.service.impl;
 
-import com.example.personalfinance.entity.User;
-import com.example.personalfinance.repository.TransactionRepository;
-import com.example.personalfinance.repository.UserRepository;
+import com.example.personalfinance.bean.response.CategoryTotal;
+import com.example.personalfinance.bean.response.DashboardSummary;
+import com.example.personalfinance.bean.response.IncomeExpenseTotal;
+import com.example.personalfinance.bean.response.MonthlyTotal;
+import com.example.personalfinance.repository.MonthlyRollupRepository;
 import com.example.personalfinance.service.DashboardService;
-import lombok.RequiredArgsConstructor;
+import com.example.personalfinance.service.RollupService;
+import com.example.personalfinance.service.UserIdentityService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
 
+import java.time.YearMonth;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
-@RequiredArgsConstructor
 public class DashboardServeImpl implements DashboardService {
-    private final UserRepository userRepository;
-    private final TransactionRepository transactionRepository;
+    private static final int MONTHLY_SERIES_LENGTH = 6;
+
+    private final UserIdentityService userIdentityService;
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final RollupService rollupService;
+    private final TaskExecutor dashboardExecutor;
+
+    public DashboardServeImpl(UserIdentityService userIdentityService,
+                              MonthlyRollupRepository monthlyRollupRepository,
+                              RollupService rollupService,
+                              @Qualifier("dashboardExecutor") TaskExecutor dashboardExecutor) {
+        this.userIdentityService = userIdentityService;
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.rollupService = rollupService;
+        this.dashboardExecutor = dashboardExecutor;
+    }
+
+    // Resolves the user once and runs the four reads side by side; each read takes its own connection
+    @Override
+    public DashboardSummary getSummary(String userName) {
+        int userId = userIdentityService.findByEmail(userName).id();
+        YearMonth current = YearMonth.now();
+        CompletableFuture<List<MonthlyTotal>> monthly =
+                CompletableFuture.supplyAsync(() -> monthlyData(userId, current), dashboardExecutor);
+        CompletableFuture<List<CategoryTotal>> expenses =
+                CompletableFuture.supplyAsync(() -> thisMonthExpenses(userId, current), dashboardExecutor);
+        CompletableFuture<List<CategoryTotal>> income =
+                CompletableFuture.supplyAsync(() -> thisMonthIncome(userId, current), dashboardExecutor);
+        CompletableFuture<IncomeExpenseTotal> totals =
+                CompletableFuture.supplyAsync(() -> thisMonthTotals(userId, current), dashboardExecutor);
+        try {
+            CompletableFuture.allOf(monthly, expenses, income, totals).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return new DashboardSummary(monthly.join(), expenses.join(), income.join(), totals.join());
+    }
 
     @Override
-    public List<Map<String, Object>> getMonthlyData(String userName) {
-        User user = userRepository.findByEmail(userName).orElseThrow();
-        return convertMonthlyData(transactionRepository.getMonthlyData(user.getUserId()));
+    public List<MonthlyTotal> getMonthlyData(String userName) {
+        return monthlyData(userIdentityService.findByEmail(userName).id(), YearMonth.now());
     }
 
     @Override
-    public List<Map<String, Object>> convertMonthlyData(List<Object[]> queryResult) {
-        return List.of();
+    public List<CategoryTotal> getThisMonthExpenses(String userName) {
+        return thisMonthExpenses(userIdentityService.findByEmail(userName).id(), YearMonth.now());
     }
 
     @Override
-    public List<Map<String, Object>> convertThisMonthExpenses(List<Object[]> queryResult) {
-        return List.of();
+    public List<CategoryTotal> getThisMonthIncome(String userName) {
+        return thisMonthIncome(userIdentityService.findByEmail(userName).id(), YearMonth.now());
     }
 
     @Override
-    public List<Map<String, Object>> convertThisMonthIncome(List<Object[]> queryResult) {
-        return List.of();
+    public IncomeExpenseTotal getThisMonthTotalIncomeAndExpenses(String userName) {
+        return thisMonthTotals(userIdentityService.findByEmail(userName).id(), YearMonth.now());
     }
 
+    // Rows are {month name, expenses, income}, newest month first
     @Override
-    public Map<String, Object> convertThisMonthTotalIncomeAndExpenses(List<Object[]> queryResult) {
-        return Map.of();
+    public List<MonthlyTotal> convertMonthlyData(List<Object[]> queryResult) {
+        List<MonthlyTotal> result = new ArrayList<>(queryResult.size());
+        for (Object[] row : queryResult) {
+            result.add(new MonthlyTotal((String) row[0], toDouble(row[1]), toDouble(row[2])));
+        }
+        return result;
     }
 
     @Override
-    public List<Map<String, Object>> getThisMonthExpenses(String userName) {
-        return List.of();
+    public List<CategoryTotal> convertThisMonthExpenses(List<Object[]> queryResult) {
+        return toCategoryTotals(queryResult);
     }
 
     @Override
-    public List<Map<String, Object>> getThisMonthIncome(String userName) {
-        return List.of();
+    public List<CategoryTotal> convertThisMonthIncome(List<Object[]> queryResult) {
+        return toCategoryTotals(queryResult);
     }
 
+    // Rows are {total expenses, total income}; an aggregate without GROUP BY always returns one row
     @Override
-    public Map<String, Object> getThisMonthTotalIncomeAndExpenses(String userName) {
-        return Map.of();
+    public IncomeExpenseTotal convertThisMonthTotalIncomeAndExpenses(List<Object[]> queryResult) {
+        if (queryResult.isEmpty()) {
+            return new IncomeExpenseTotal(0, 0);
+        }
+        Object[] row = queryResult.get(0);
+        return new IncomeExpenseTotal(toDouble(row[1]), toDouble(row[0]));
+    }
+
+    private List<MonthlyTotal> monthlyData(int userId, YearMonth current) {
+        List<Object[]> rows = monthlyRollupRepository.getMonthlyData(userId,
+                rollupService.periodOf(current.minusMonths(MONTHLY_SERIES_LENGTH - 1L)), rollupService.periodOf(current));
+
+        // Months without transactions have no row, so the series is filled in here, newest month first
+        Map<Integer, Object[]> rowsByMonth = new HashMap<>();
+        for (Object[] row : rows) {
+            rowsByMonth.put(((Number) row[0]).intValue(), row);
+        }
+        List<Object[]> series = new ArrayList<>(MONTHLY_SERIES_LENGTH);
+        for (int i = 0; i < MONTHLY_SERIES_LENGTH; i++) {
+            YearMonth month = current.minusMonths(i);
+            Object[] row = rowsByMonth.get(rollupService.periodOf(month));
+            series.add(new Object[]{
+                    month.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH),
+                    row == null ? 0 : row[1],
+                    row == null ? 0 : row[2]
+            });
+        }
+        return convertMonthlyData(series);
+    }
+
+    private List<CategoryTotal> thisMonthExpenses(int userId, YearMonth current) {
+        return convertThisMonthExpenses(monthlyRollupRepository.getMonthExpenses(userId, rollupService.periodOf(current)));
+    }
+
+    private List<CategoryTotal> thisMonthIncome(int userId, YearMonth current) {
+        return convertThisMonthIncome(monthlyRollupRepository.getMonthIncome(userId, rollupService.periodOf(current)));
+    }
+
+    private IncomeExpenseTotal thisMonthTotals(int userId, YearMonth current) {
+        return convertThisMonthTotalIncomeAndExpenses(
+                monthlyRollupRepository.getMonthTotalIncomeAndExpenses(userId, rollupService.periodOf(current)));
+    }
+
+    private static List<CategoryTotal> toCategoryTotals(List<Object[]> queryResult) {
+        List<CategoryTotal> result = new ArrayList<>(queryResult.size());
+        for (Object[] row : queryResult) {
+            result.add(new CategoryTotal((String) row[0], toDouble(row[1])));
+        }
+        return result;
+    }
+
+    private static double toDouble(Object value) {
+        return value == null ? 0 : ((Number) value).doubleValue();
     }
 }
@@ -3,31 +3,33 @@ package com.example.personalfinance.service.impl;
 import com.example.personalfinance.entity.Debt;
 import com.example.personalfinance.entity.User;
 import com.example.personalfinance.repository.DebtRepository;
-import com.example.personalfinance.repository.UserRepository;
 import com.example.personalfinance.service.DebtService;
+import com.example.personalfinance.service.UserIdentityService;
 import jakarta.transaction.Transactional;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Comparator;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.Date;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 @Transactional
 @Service
 @RequiredArgsConstructor
 public class DebtServiceImpl implements DebtService {
+    public static final DateTimeFormatter DUE_DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
     private final DebtRepository debtRepository;
-    private final UserRepository userRepository;
+    private final UserIdentityService userIdentityService;
     @Override
     public Debt debtCreate(Debt deb, String uName) {
         try {
-            User user = userRepository.findByEmail(uName).orElseThrow();
+            User user = userIdentityService.getReference(uName);
             deb.setUser(user);
         } catch (Exception ignored) {
 
@@ -45,7 +47,7 @@ public class DebtServiceImpl implements DebtService {
             debt.setMoneyFrom(deb.getMoneyFrom());
         }if (Objects.nonNull(deb.getStatus()) && !"".equalsIgnoreCase(deb.getStatus())){
             debt.setStatus(deb.getStatus());
-        }if (Objects.nonNull(deb.getDueDate()) && !"".equalsIgnoreCase(deb.getDueDate())){
+        }if (Objects.nonNull(deb.getDueDate())){
             debt.setDueDate(deb.getDueDate());
         }
         return debtRepository.save(debt);
@@ -65,14 +67,11 @@ public class DebtServiceImpl implements DebtService {
     @Override
     public List<Debt> debGet(String uName, Integer value) {
         try {
-            User user = userRepository.findByEmail(uName).orElseThrow();
+            User user = userIdentityService.getReference(uName);
             if (value == 1) {
                 return debtRepository.findAllByUserOrderByAmountDesc(user);
             }else if (value == 2) {
-                List<Debt> debts = debtRepository.findAllByUser(user);
-                return debts.stream()
-                        .sorted(Comparator.comparing(debt -> parseDueDate(debt.getDueDate())))
-                        .collect(Collectors.toList());
+                return debtRepository.findAllByUserOrderByDueDateAsc(user);
             }
             return debtRepository.findAllByUser(user);
         } catch (Exception e) {
@@ -85,12 +84,18 @@ public class DebtServiceImpl implements DebtService {
         return debtRepository.findAll();
     }
 
+    @Override
+    public List<Debt> getUpcomingDebts(String uName, LocalDate from, LocalDate to) {
+        User user = userIdentityService.getReference(uName);
+        return debtRepository.findUpcoming(user, from, to);
+    }
+
     @Override
     public Date parseDueDate(String dueDate) {
        try {
-           SimpleDateFormat formatter = new SimpleDateFormat("dd/MM/yyyy");
-           return formatter.parse(dueDate);
-       }catch (ParseException e) {
+           LocalDate date = LocalDate.parse(dueDate, DUE_DATE_FORMAT);
+           return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+       }catch (DateTimeParseException e) {
             e.printStackTrace();
             return null;
        }
@@ -0,0 +1,224 @@
+package com.example.personalfinance.service.impl;
+
+import com.example.personalfinance.bean.response.AccountForecast;
+import com.example.personalfinance.bean.response.ForecastEntry;
+import com.example.personalfinance.bean.response.ForecastPoint;
+import com.example.personalfinance.bean.response.RecurringCandidateRow;
+import com.example.personalfinance.entity.Account;
+import com.example.personalfinance.entity.ForecastRebuild;
+import com.example.personalfinance.entity.RecurringSeries;
+import com.example.personalfinance.entity.Transaction;
+import com.example.personalfinance.repository.AccountRepository;
+import com.example.personalfinance.repository.ForecastRebuildRepository;
+import com.example.personalfinance.repository.RecurringSeriesRepository;
+import com.example.personalfinance.repository.TransactionRepository;
+import com.example.personalfinance.service.ForecastService;
+import com.example.personalfinance.service.UserIdentityService;
+import com.example.personalfinance.util.SearchTerms;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class ForecastServiceImpl implements ForecastService {
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private record SeriesKey(String descriptionKey, boolean income) {
+    }
+
+    private final RecurringSeriesRepository recurringSeriesRepository;
+    private final TransactionRepository transactionRepository;
+    private final ForecastRebuildRepository forecastRebuildRepository;
+    private final AccountRepository accountRepository;
+    private final UserIdentityService userIdentityService;
+
+    @Value("${forecast.default-days}")
+    private int defaultDays;
+
+    @Value("${forecast.max-days}")
+    private int maxDays;
+
+    @Value("${forecast.amount-tolerance}")
+    private double amountTolerance;
+
+    @Value("${forecast.min-occurrences}")
+    private int minOccurrences;
+
+    @Value("${forecast.max-interval-deviation}")
+    private double maxIntervalDeviation;
+
+    @Value("${forecast.max-interval}")
+    private Duration maxInterval;
+
+    @Override
+    @Transactional
+    public void record(Transaction transaction) {
+        String key = descriptionKey(transaction.getDescription());
+        Boolean income = direction(transaction.getCategory().getType());
+        if (key == null || income == null || transaction.getDateTime() == null) {
+            return;
+        }
+        Integer accountId = transaction.getAccount().getAccountId();
+        List<RecurringSeries> candidates = new ArrayList<>(
+                recurringSeriesRepository.findAllByAccountIdAndDescriptionKeyAndIncome(accountId, key, income));
+        // Intervals are only meaningful in date order, so a back-dated entry has the account refolded instead
+        if (candidates.stream().anyMatch(series -> series.getLastDateTime() > transaction.getDateTime())) {
+            requestRebuild(accountId);
+            return;
+        }
+        RecurringSeries series = seriesFor(candidates, transaction.getUser().getUserId(), accountId, key, income,
+                transaction.getAmount(), transaction.getDescription());
+        series.observe(transaction.getDateTime(), transaction.getAmount());
+        recurringSeriesRepository.save(series);
+    }
+
+    @Override
+    @Transactional
+    public void rebuild(Integer accountId) {
+        recurringSeriesRepository.deleteByAccountId(accountId);
+        Account account = accountRepository.findById(accountId).orElse(null);
+        if (account == null) {
+            return;
+        }
+        Integer userId = account.getUser().getUserId();
+        Map<SeriesKey, List<RecurringSeries>> series = new HashMap<>();
+        // One pass in date order over both tiers; a single cursor, since a streaming MySQL connection holds
+        // only one open result set
+        try (Stream<Object[]> rows = transactionRepository.streamForRecurring(accountId)) {
+            rows.forEach(row -> fold(series, userId, accountId, new RecurringCandidateRow(((Number) row[1]).longValue(),
+                    ((Number) row[2]).doubleValue(), (String) row[3], (String) row[4])));
+        }
+        // One-off descriptions too old to be followed by a plausible next occurrence are not worth keeping
+        long stale = System.currentTimeMillis() - maxInterval.toMillis();
+        recurringSeriesRepository.saveAll(series.values().stream()
+                .flatMap(List::stream)
+                .filter(s -> s.getOccurrences() > 1 || s.getLastDateTime() >= stale)
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    @Transactional
+    public void requestRebuild(Integer accountId) {
+        forecastRebuildRepository.request(accountId);
+    }
+
+    @Override
+    public List<ForecastRebuild> findRequestedRebuilds(Integer afterAccountId, int limit) {
+        return forecastRebuildRepository.findAllByAccountIdGreaterThanOrderByAccountId(afterAccountId, Limit.of(limit));
+    }
+
+    @Override
+    @Transactional
+    public void rebuildRequested(ForecastRebuild request) {
+        rebuild(request.getAccountId());
+        forecastRebuildRepository.complete(request.getAccountId(), request.getRequests());
+    }
+
+    private void fold(Map<SeriesKey, List<RecurringSeries>> series, Integer userId, Integer accountId,
+                      RecurringCandidateRow row) {
+        String key = descriptionKey(row.description());
+        Boolean income = direction(row.categoryType());
+        if (key == null || income == null) {
+            return;
+        }
+        List<RecurringSeries> candidates = series.computeIfAbsent(new SeriesKey(key, income), k -> new ArrayList<>());
+        seriesFor(candidates, userId, accountId, key, income, row.amount(), row.description())
+                .observe(row.dateTime(), row.amount());
+    }
+
+    private RecurringSeries seriesFor(List<RecurringSeries> candidates, Integer userId, Integer accountId, String key,
+                                      boolean income, double amount, String description) {
+        for (RecurringSeries candidate : candidates) {
+            if (candidate.matchesAmount(amount, amountTolerance)) {
+                return candidate;
+            }
+        }
+        RecurringSeries created = new RecurringSeries();
+        created.setUserId(userId);
+        created.setAccountId(accountId);
+        created.setDescriptionKey(key);
+        created.setDescription(description);
+        created.setIncome(income);
+        candidates.add(created);
+        return created;
+    }
+
+    // Projects only from the stored series, so the cost does not depend on the length of the history
+    @Override
+    @Transactional
+    public AccountForecast forecast(String userName, Integer accountId, Integer days) {
+        int userId = userIdentityService.findByEmail(userName).id();
+        Account account = accountRepository.findById(accountId)
+                .filter(a -> a.getUser().getUserId() == userId)
+                .orElseThrow(() -> new NoSuchElementException("Account " + accountId + " not exist."));
+        int horizon = days == null || days <= 0 ? defaultDays : Math.min(days, maxDays);
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDate today = LocalDate.now(zone);
+        long now = System.currentTimeMillis();
+        long end = today.plusDays(horizon + 1L).atStartOfDay(zone).toInstant().toEpochMilli();
+
+        List<ForecastEntry> entries = new ArrayList<>();
+        for (RecurringSeries series : recurringSeriesRepository.findAllByAccountId(accountId)) {
+            if (!series.isRecurring(minOccurrences, maxIntervalDeviation) || series.isLapsed(now)) {
+                continue;
+            }
+            double amount = series.isIncome() ? series.getMeanAmount() : -series.getMeanAmount();
+            double interval = series.getMeanIntervalMillis();
+            for (double next = series.getLastDateTime() + interval; next < end; next += interval) {
+                // An occurrence that is due but not yet entered is expected today
+                LocalDate date = Instant.ofEpochMilli(Math.max((long) next, now)).atZone(zone).toLocalDate();
+                entries.add(new ForecastEntry(date, series.getDescription(), amount));
+            }
+        }
+        entries.sort(Comparator.comparing(ForecastEntry::date));
+
+        List<ForecastPoint> balances = new ArrayList<>(horizon + 1);
+        double balance = account.getCurrentBalance();
+        int next = 0;
+        for (int day = 0; day <= horizon; day++) {
+            LocalDate date = today.plusDays(day);
+            while (next < entries.size() && !entries.get(next).date().isAfter(date)) {
+                balance += entries.get(next++).amount();
+            }
+            balances.add(new ForecastPoint(date, balance));
+        }
+        return new AccountForecast(account.getAccountId(), account.getCurrentBalance(), balances, entries);
+    }
+
+    // Number-only words are dropped so "Rent 03/2024" and "Rent 04/2024" land in the same series
+    private static String descriptionKey(String description) {
+        String key = SearchTerms.words(description).stream()
+                .filter(word -> !word.chars().allMatch(Character::isDigit))
+                .collect(Collectors.joining(" "));
+        if (key.isEmpty()) {
+            return null;
+        }
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+
+    private static Boolean direction(String categoryType) {
+        if ("income".equals(categoryType)) {
+            return true;
+        }
+        if ("expense".equals(categoryType)) {
+            return false;
+        }
+        return null;
+    }
+}
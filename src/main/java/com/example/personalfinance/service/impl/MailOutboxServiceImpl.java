@@ -0,0 +1,88 @@
+package com.example.personalfinance.service.impl;
+
+import com.example.personalfinance.entity.MailOutbox;
+import com.example.personalfinance.repository.MailOutboxRepository;
+import com.example.personalfinance.service.MailOutboxService;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class MailOutboxServiceImpl implements MailOutboxService {
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final MailOutboxRepository mailOutboxRepository;
+
+    @Value("${mail.outbox.claim-size}")
+    private int claimSize;
+
+    @Value("${mail.outbox.lease}")
+    private Duration lease;
+
+    @Value("${mail.outbox.max-attempts}")
+    private int maxAttempts;
+
+    @Value("${mail.outbox.backoff-base}")
+    private Duration backoffBase;
+
+    @Value("${mail.outbox.backoff-max}")
+    private Duration backoffMax;
+
+    @Override
+    @Transactional
+    public void enqueue(String recipient, String subject, String body) {
+        MailOutbox mail = new MailOutbox();
+        mail.setRecipient(recipient);
+        mail.setSubject(subject);
+        mail.setBody(body);
+        mail.setNextAttemptAt(LocalDateTime.now());
+        mailOutboxRepository.save(mail);
+    }
+
+    // Rows stay PENDING but are leased; if the worker dies mid-send they become due again when the lease runs out
+    @Override
+    @Transactional
+    public List<MailOutbox> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<MailOutbox> batch = mailOutboxRepository.lockDue(now, claimSize);
+        if (!batch.isEmpty()) {
+            mailOutboxRepository.lease(batch.stream().map(MailOutbox::getId).toList(), now.plus(lease));
+        }
+        return batch;
+    }
+
+    @Override
+    @Transactional
+    public void markSent(List<Long> ids) {
+        if (!ids.isEmpty()) {
+            mailOutboxRepository.markSent(ids, LocalDateTime.now());
+        }
+    }
+
+    @Override
+    @Transactional
+    public void markFailed(List<Long> ids, String error) {
+        String lastError = error == null ? null : error.substring(0, Math.min(error.length(), MAX_ERROR_LENGTH));
+        for (MailOutbox mail : mailOutboxRepository.findAllById(ids)) {
+            mail.setAttempts(mail.getAttempts() + 1);
+            mail.setLastError(lastError);
+            if (mail.getAttempts() >= maxAttempts) {
+                mail.setStatus(MailOutbox.Status.DEAD);
+            } else {
+                mail.setNextAttemptAt(LocalDateTime.now().plus(backoff(mail.getAttempts())));
+            }
+        }
+    }
+
+    // base * 2^(attempts - 1), capped at backoff-max
+    private Duration backoff(int attempts) {
+        Duration delay = backoffBase.multipliedBy(1L << Math.min(attempts - 1, 30));
+        return delay.compareTo(backoffMax) > 0 ? backoffMax : delay;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.personalfinance.service.impl;
+
+import com.example.personalfinance.bean.request.ProfileImg;
+import com.example.personalfinance.repository.UserRepository;
+import com.example.personalfinance.service.BlobStore;
+import com.example.personalfinance.service.ProfileImageService;
+import com.example.personalfinance.service.UserIdentityService;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Service
+@RequiredArgsConstructor
+public class ProfileImageServiceImpl implements ProfileImageService {
+    // Same limit as the old users.profile_image column
+    private static final long MAX_IMAGE_SIZE = 1048576;
+
+    private final BlobStore blobStore;
+    private final UserRepository userRepository;
+    private final UserIdentityService userIdentityService;
+
+    @Override
+    @Transactional
+    public String updateProfileImage(ProfileImg profileImg, String userName) throws IOException {
+        MultipartFile image = profileImg.getImage();
+        if (image == null || image.isEmpty()) {
+            throw new IllegalArgumentException("Image is empty.");
+        }
+        if (image.getSize() > MAX_IMAGE_SIZE) {
+            throw new IllegalArgumentException("Image is larger than " + MAX_IMAGE_SIZE + " bytes.");
+        }
+        String hash;
+        try (InputStream content = image.getInputStream()) {
+            hash = blobStore.put(content);
+        }
+        userRepository.updateProfileImageHash(userIdentityService.findByEmail(userName).id(), hash);
+        return hash;
+    }
+}
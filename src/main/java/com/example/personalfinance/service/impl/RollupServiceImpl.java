@@ -0,0 +1,77 @@
+package com.example.personalfinance.service.impl;
+
+import com.example.personalfinance.entity.Transaction;
+import com.example.personalfinance.repository.MonthlyRollupRepository;
+import com.example.personalfinance.service.RollupService;
+import com.example.personalfinance.util.EpochRange;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneId;
+
+@Service
+@RequiredArgsConstructor
+public class RollupServiceImpl implements RollupService {
+    private final MonthlyRollupRepository monthlyRollupRepository;
+
+    @Override
+    @Transactional
+    public void record(Transaction transaction) {
+        apply(transaction, 1);
+    }
+
+    @Override
+    @Transactional
+    public void reverse(Transaction transaction) {
+        apply(transaction, -1);
+    }
+
+    @Override
+    @Transactional
+    public void rebuild(Integer userId) {
+        monthlyRollupRepository.deleteByUserId(userId);
+        Object[] bounds = monthlyRollupRepository.findDateTimeBounds(userId).get(0);
+        if (bounds[0] == null) {
+            return;
+        }
+        // Month bounds come from EpochRange so a rebuild buckets rows exactly like record and reverse do
+        YearMonth last = monthOf(((Number) bounds[1]).longValue());
+        for (YearMonth month = monthOf(((Number) bounds[0]).longValue()); !month.isAfter(last); month = month.plusMonths(1)) {
+            EpochRange range = EpochRange.ofMonth(month);
+            monthlyRollupRepository.rebuildMonth(userId, periodOf(month), range.from(), range.to());
+        }
+    }
+
+    @Override
+    public int periodOf(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+
+    @Override
+    public int periodOf(long dateTime) {
+        return periodOf(monthOf(dateTime));
+    }
+
+    private static YearMonth monthOf(long dateTime) {
+        return YearMonth.from(Instant.ofEpochMilli(dateTime).atZone(ZoneId.systemDefault()));
+    }
+
+    private void apply(Transaction transaction, int sign) {
+        if (transaction.getDateTime() == null || transaction.getCategory() == null) {
+            return;
+        }
+        String type = transaction.getCategory().getType();
+        double amount = sign * transaction.getAmount();
+        monthlyRollupRepository.applyDelta(
+                transaction.getUser().getUserId(),
+                periodOf(transaction.getDateTime()),
+                transaction.getCategory().getCategoryId(),
+                "income".equals(type) ? amount : 0,
+                "expense".equals(type) ? amount : 0,
+                sign
+        );
+    }
+}
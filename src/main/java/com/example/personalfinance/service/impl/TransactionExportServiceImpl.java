@@ -0,0 +1,120 @@
+package com.example.personalfinance.service.impl;
+
+import com.example.personalfinance.bean.response.TransactionExportRow;
+import com.example.personalfinance.repository.ColdTransactionRepository;
+import com.example.personalfinance.repository.TransactionRepository;
+import com.example.personalfinance.service.TransactionExportService;
+import com.example.personalfinance.service.TransactionTierService;
+import com.example.personalfinance.service.UserIdentityService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class TransactionExportServiceImpl implements TransactionExportService {
+    private static final String CSV_HEADER =
+            "id,date_time,amount,description,payment_type,category,category_type,account_id,account\n";
+
+    private final TransactionRepository transactionRepository;
+    private final ColdTransactionRepository coldTransactionRepository;
+    private final TransactionTierService transactionTierService;
+    private final UserIdentityService userIdentityService;
+    private final ObjectMapper objectMapper;
+
+    // Rows are pulled from a forward-only cursor and written one at a time, so memory does not grow with history.
+    // Spring's @Transactional rather than jakarta's: only it has readOnly, which marks the JDBC connection read-only
+    // and skips the flush before the long-running stream. date_time is NOT NULL, so the open-ended default range covers every row.
+    @Override
+    @Transactional(readOnly = true)
+    public void export(String userName, Format format, Long from, Long to, Integer accountId, OutputStream out) throws IOException {
+        int userId = userIdentityService.findByEmail(userName).id();
+        long fromMillis = from == null ? Long.MIN_VALUE : from;
+        long toMillis = to == null ? Long.MAX_VALUE : to;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        SequenceWriter sequence = null;
+        if (format == Format.NDJSON) {
+            sequence = objectMapper.writer().withRootValueSeparator("\n").writeValues(writer);
+        } else {
+            writer.write(CSV_HEADER);
+        }
+        try {
+            // Cold rows all predate the live ones, so writing them first keeps date order. Each cursor is closed
+            // before the next opens because a streaming MySQL connection holds only one open result set
+            if (transactionTierService.reachesCold(fromMillis)) {
+                try (Stream<TransactionExportRow> rows = coldTransactionRepository.streamForExport(userId, fromMillis, toMillis, accountId)) {
+                    writeRows(rows.iterator(), sequence, writer);
+                }
+            }
+            try (Stream<TransactionExportRow> rows = transactionRepository.streamForExport(userId, fromMillis, toMillis, accountId)) {
+                writeRows(rows.iterator(), sequence, writer);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (sequence != null) {
+            sequence.flush();
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    private void writeRows(Iterator<TransactionExportRow> rows, SequenceWriter sequence, Writer writer) throws IOException {
+        if (sequence != null) {
+            while (rows.hasNext()) {
+                sequence.write(rows.next());
+            }
+        } else {
+            writeCsv(rows, writer);
+        }
+    }
+
+    private void writeCsv(Iterator<TransactionExportRow> rows, Writer writer) throws IOException {
+        while (rows.hasNext()) {
+            TransactionExportRow row = rows.next();
+            writer.write(String.valueOf(row.id()));
+            writer.write(',');
+            writer.write(row.dateTime() == null ? "" : row.dateTime().toString());
+            writer.write(',');
+            writer.write(Double.toString(row.amount()));
+            writer.write(',');
+            writeCsvField(writer, row.description());
+            writer.write(',');
+            writeCsvField(writer, row.paymentType());
+            writer.write(',');
+            writeCsvField(writer, row.categoryName());
+            writer.write(',');
+            writeCsvField(writer, row.categoryType());
+            writer.write(',');
+            writer.write(row.accountId() == null ? "" : row.accountId().toString());
+            writer.write(',');
+            writeCsvField(writer, row.accountName());
+            writer.write('\n');
+        }
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,289 @@
+package com.example.personalfinance.service.impl;
+
+import com.example.personalfinance.bean.response.ImportResult;
+import com.example.personalfinance.entity.Account;
+import com.example.personalfinance.entity.Category;
+import com.example.personalfinance.entity.PaymentType;
+import com.example.personalfinance.entity.User;
+import com.example.personalfinance.repository.AccountRepository;
+import com.example.personalfinance.repository.BudgetRepository;
+import com.example.personalfinance.repository.CategoryRepository;
+import com.example.personalfinance.repository.MonthlyRollupRepository;
+import com.example.personalfinance.service.ForecastService;
+import com.example.personalfinance.service.RollupService;
+import com.example.personalfinance.service.TransactionImportService;
+import com.example.personalfinance.service.TransactionSearchService;
+import com.example.personalfinance.service.UserIdentityService;
+import com.example.personalfinance.util.EpochRange;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class TransactionImportServiceImpl implements TransactionImportService {
+    private static final String INSERT_SQL = "INSERT INTO transactions " +
+            "(amount, description, payment_type, date_time, category_category_id, account_account_id, user_id, " +
+            "deleted, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, false, ?, ?)";
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserIdentityService userIdentityService;
+    private final CategoryRepository categoryRepository;
+    private final AccountRepository accountRepository;
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final BudgetRepository budgetRepository;
+    private final RollupService rollupService;
+    private final TransactionSearchService transactionSearchService;
+    private final ForecastService forecastService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${transaction.import.batch-size}")
+    private int batchSize;
+
+    public TransactionImportServiceImpl(JdbcTemplate jdbcTemplate, UserIdentityService userIdentityService,
+                                        CategoryRepository categoryRepository, AccountRepository accountRepository,
+                                        MonthlyRollupRepository monthlyRollupRepository, BudgetRepository budgetRepository,
+                                        RollupService rollupService, TransactionSearchService transactionSearchService,
+                                        ForecastService forecastService, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userIdentityService = userIdentityService;
+        this.categoryRepository = categoryRepository;
+        this.accountRepository = accountRepository;
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.budgetRepository = budgetRepository;
+        this.rollupService = rollupService;
+        this.transactionSearchService = transactionSearchService;
+        this.forecastService = forecastService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Expected header: date_time,amount,description,payment_type,category_id,account_id (any column order).
+    // Each batch commits on its own with its balance, rollup, budget and search deltas, so locks are held for
+    // one batch rather than the whole file; a failure part-way leaves the earlier batches imported.
+    @Override
+    public ImportResult importCsv(InputStream csv, String userName) throws IOException {
+        User user = userIdentityService.getReference(userName);
+        Map<Integer, Category> categories = new HashMap<>();
+        for (Category category : categoryRepository.findAllByUserId(user)) {
+            categories.put(category.getCategoryId(), category);
+        }
+        Map<Integer, Account> accounts = new HashMap<>();
+        for (Account account : accountRepository.findAllByUserAndIsDeletedFalse(user)) {
+            accounts.put(account.getAccountId(), account);
+        }
+
+        ImportTotals totals = new ImportTotals();
+        Set<Integer> touchedAccounts = new HashSet<>();
+        List<String> errors = new ArrayList<>();
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        long imported = 0;
+        long rejected = 0;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        EpochRange currentMonth = EpochRange.ofMonth(YearMonth.now());
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                return new ImportResult(0, 0, List.of());
+            }
+            Map<String, Integer> header = indexHeader(splitCsvLine(headerLine));
+            String line;
+            long lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    List<String> fields = splitCsvLine(line);
+                    long dateTime = parseDateTime(field(fields, header, "date_time"));
+                    double amount = Double.parseDouble(field(fields, header, "amount"));
+                    // Direction comes from the category, so amounts are plain magnitudes
+                    if (!Double.isFinite(amount) || amount < 0) {
+                        throw new IllegalArgumentException("amount must be a finite, non-negative number");
+                    }
+                    Category category = categories.get(Integer.valueOf(field(fields, header, "category_id")));
+                    Account account = accounts.get(Integer.valueOf(field(fields, header, "account_id")));
+                    if (category == null || account == null) {
+                        throw new IllegalArgumentException("unknown category or account");
+                    }
+                    batch.add(new Object[]{
+                            amount,
+                            field(fields, header, "description"),
+                            PaymentType.normalize(field(fields, header, "payment_type")),
+                            dateTime,
+                            category.getCategoryId(),
+                            account.getAccountId(),
+                            user.getUserId(),
+                            now,
+                            now
+                    });
+                    totals.add(category, account, dateTime, amount, currentMonth);
+                    imported++;
+                    if (batch.size() >= batchSize) {
+                        commitBatch(user.getUserId(), batch, totals, touchedAccounts);
+                        batch.clear();
+                        totals = new ImportTotals();
+                    }
+                } catch (RuntimeException e) {
+                    rejected++;
+                    if (errors.size() < MAX_REPORTED_ERRORS) {
+                        errors.add("line " + lineNumber + ": " + e.getMessage());
+                    }
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            commitBatch(user.getUserId(), batch, totals, touchedAccounts);
+        }
+        // Imported rows can land anywhere in an account's history, so touched accounts are refolded once each
+        touchedAccounts.forEach(forecastService::rebuild);
+        return new ImportResult(imported, rejected, errors);
+    }
+
+    private void commitBatch(Integer userId, List<Object[]> batch, ImportTotals totals, Set<Integer> touchedAccounts) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Integer> ids = insert(batch);
+            applyTotals(userId, totals);
+            transactionSearchService.index(userId, ids);
+        });
+        touchedAccounts.addAll(totals.balanceDeltas.keySet());
+    }
+
+    // Returns the generated ids, so only this batch's rows are indexed
+    private List<Integer> insert(List<Object[]> batch) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        Object[] row = batch.get(i);
+                        for (int column = 0; column < row.length; column++) {
+                            statement.setObject(column + 1, row[column]);
+                        }
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return batch.size();
+                    }
+                }, keys);
+        List<Integer> ids = new ArrayList<>(batch.size());
+        for (Map<String, Object> key : keys.getKeyList()) {
+            ids.add(((Number) key.values().iterator().next()).intValue());
+        }
+        return ids;
+    }
+
+    // One balance delta per account, one rollup delta per (month, category) and one budget delta per category
+    private void applyTotals(Integer userId, ImportTotals totals) {
+        totals.balanceDeltas.forEach((accountId, delta) -> accountRepository.applyBalanceDelta(accountId, delta));
+        totals.rollups.forEach((key, sums) -> monthlyRollupRepository.applyDelta(
+                userId, key.period(), key.categoryId(), sums[0], sums[1], (long) sums[2]));
+        totals.budgetDeltas.forEach((categoryId, delta) -> budgetRepository.applyUsageDelta(userId, categoryId, delta));
+    }
+
+    private long parseDateTime(String value) {
+        if (value.chars().allMatch(Character::isDigit)) {
+            return Long.parseLong(value);
+        }
+        return LocalDate.parse(value).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static Map<String, Integer> indexHeader(List<String> columns) {
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            header.put(columns.get(i).trim().toLowerCase(), i);
+        }
+        return header;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> header, String name) {
+        Integer index = header.get(name);
+        if (index == null || index >= fields.size()) {
+            throw new IllegalArgumentException("missing " + name);
+        }
+        return fields.get(index).trim();
+    }
+
+    // RFC 4180 quoting within a single line; quoted fields may contain commas and doubled quotes
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private record RollupKey(int period, int categoryId) {
+    }
+
+    private class ImportTotals {
+        private final Map<Integer, Double> balanceDeltas = new HashMap<>();
+        // income, expense, count
+        private final Map<RollupKey, double[]> rollups = new HashMap<>();
+        private final Map<Integer, Double> budgetDeltas = new HashMap<>();
+
+        private void add(Category category, Account account, long dateTime, double amount, EpochRange currentMonth) {
+            boolean expense = "expense".equals(category.getType());
+            boolean income = "income".equals(category.getType());
+            if (expense) {
+                balanceDeltas.merge(account.getAccountId(), -amount, Double::sum);
+                if (currentMonth.contains(dateTime)) {
+                    budgetDeltas.merge(category.getCategoryId(), amount, Double::sum);
+                }
+            } else if (income) {
+                balanceDeltas.merge(account.getAccountId(), amount, Double::sum);
+            }
+            double[] sums = rollups.computeIfAbsent(
+                    new RollupKey(rollupService.periodOf(dateTime), category.getCategoryId()), key -> new double[3]);
+            sums[0] += income ? amount : 0;
+            sums[1] += expense ? amount : 0;
+            sums[2]++;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.personalfinance.service.impl;
+
+import com.example.personalfinance.bean.response.TransactionSearchHit;
+import com.example.personalfinance.bean.response.TransactionSearchPage;
+import com.example.personalfinance.entity.Transaction;
+import com.example.personalfinance.entity.TransactionSearchTerm;
+import com.example.personalfinance.repository.TransactionSearchTermRepository;
+import com.example.personalfinance.service.TransactionSearchService;
+import com.example.personalfinance.service.UserIdentityService;
+import com.example.personalfinance.util.SearchTerms;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class TransactionSearchServiceImpl implements TransactionSearchService {
+    private static final String INSERT_SQL = "INSERT IGNORE INTO transaction_search_terms " +
+            "(user_id, kind, term, transaction_id) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionSearchTermRepository transactionSearchTermRepository;
+    private final UserIdentityService userIdentityService;
+
+    @Value("${transaction.page.default-size}")
+    private int defaultPageSize;
+
+    @Value("${transaction.page.max-size}")
+    private int maxPageSize;
+
+    @Value("${transaction.search.max-words}")
+    private int maxWords;
+
+    @Value("${transaction.search.index-batch-size}")
+    private int indexBatchSize;
+
+    @Override
+    public void index(Transaction transaction) {
+        List<Object[]> postings = new ArrayList<>();
+        addPostings(postings, transaction.getUser().getUserId(), transaction.getId(), transaction.getDescription());
+        if (!postings.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, postings);
+        }
+    }
+
+    @Override
+    public void reindex(Transaction transaction) {
+        transactionSearchTermRepository.deleteByTransactionId(transaction.getId());
+        index(transaction);
+    }
+
+    @Override
+    public void remove(Integer transactionId) {
+        transactionSearchTermRepository.deleteByTransactionId(transactionId);
+    }
+
+    @Override
+    @Transactional
+    public void index(Integer userId, List<Integer> transactionIds) {
+        NamedParameterJdbcTemplate namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        for (int i = 0; i < transactionIds.size(); i += indexBatchSize) {
+            MapSqlParameterSource params = new MapSqlParameterSource("userId", userId)
+                    .addValue("ids", transactionIds.subList(i, Math.min(i + indexBatchSize, transactionIds.size())));
+            insertPostings(userId, namedJdbcTemplate.query(
+                    "SELECT id, description FROM transactions WHERE deleted = false AND user_id = :userId AND id IN (:ids)",
+                    params, (rs, rowNum) -> new Object[]{rs.getInt(1), rs.getString(2)}));
+        }
+    }
+
+    @Override
+    @Transactional
+    public void rebuild(Integer userId) {
+        transactionSearchTermRepository.deleteByUserId(userId);
+        indexTable("transactions", "deleted = false AND ", userId, 0);
+        indexTable("transactions_cold", "", userId, 0);
+    }
+
+    // Walks the table in id order, one bounded batch at a time, so the user's history is never held in memory
+    private void indexTable(String table, String liveOnly, Integer userId, Integer afterId) {
+        String sql = "SELECT id, description FROM " + table + " WHERE " + liveOnly + "user_id = ? AND id > ? " +
+                "ORDER BY id LIMIT ?";
+        int last = afterId;
+        while (true) {
+            List<Object[]> rows = jdbcTemplate.query(sql, (rs, rowNum) -> new Object[]{rs.getInt(1), rs.getString(2)},
+                    userId, last, indexBatchSize);
+            insertPostings(userId, rows);
+            if (rows.size() < indexBatchSize) {
+                return;
+            }
+            last = (Integer) rows.get(rows.size() - 1)[0];
+        }
+    }
+
+    // rows are {id, description}
+    private void insertPostings(Integer userId, List<Object[]> rows) {
+        List<Object[]> postings = new ArrayList<>();
+        for (Object[] row : rows) {
+            addPostings(postings, userId, (Integer) row[0], (String) row[1]);
+        }
+        if (!postings.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, postings);
+        }
+    }
+
+    private static void addPostings(List<Object[]> postings, Integer userId, Integer transactionId, String description) {
+        for (String word : SearchTerms.words(description)) {
+            postings.add(new Object[]{userId, TransactionSearchTerm.Kind.WORD.name(), word, transactionId});
+            for (String gram : SearchTerms.trigrams(word)) {
+                postings.add(new Object[]{userId, TransactionSearchTerm.Kind.TRIGRAM.name(), gram, transactionId});
+            }
+        }
+    }
+
+    // Every query word must match as a whole word, a word prefix or a substring. Candidates come from the
+    // postings (word prefix for short words, all trigrams otherwise, which a prefix match always has); the
+    // description LIKE then drops trigram false positives. Score per word: 3 whole word, 2 prefix, 1 substring; ties go to the most recent.
+    @Override
+    public TransactionSearchPage search(String userName, String query, Long from, Long to, Double minAmount,
+                                        Double maxAmount, Integer page, Integer size) {
+        int pageSize = size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+        int pageNumber = page == null || page < 0 ? 0 : page;
+        List<String> words = SearchTerms.words(query);
+        if (words.isEmpty()) {
+            return new TransactionSearchPage(List.of(), pageNumber, pageSize, false);
+        }
+        words = words.subList(0, Math.min(words.size(), maxWords));
+
+        MapSqlParameterSource params = new MapSqlParameterSource("userId", userIdentityService.findByEmail(userName).id());
+        StringBuilder matches = new StringBuilder();
+        StringBuilder filters = new StringBuilder();
+        for (int i = 0; i < words.size(); i++) {
+            String word = words.get(i);
+            Set<String> grams = SearchTerms.trigrams(word);
+            params.addValue("w" + i, word).addValue("p" + i, word + "%").addValue("like" + i, "%" + word + "%");
+            if (i > 0) {
+                matches.append("    UNION ALL\n");
+            }
+            matches.append("    SELECT transaction_id, MAX(CASE WHEN kind = 'WORD' AND term = :w").append(i)
+                    .append(" THEN 3 WHEN kind = 'WORD' THEN 2 ELSE 1 END) AS score\n")
+                    .append("    FROM transaction_search_terms WHERE user_id = :userId AND ((kind = 'WORD' AND term LIKE :p")
+                    .append(i).append(")");
+            if (grams.isEmpty()) {
+                matches.append(")\n    GROUP BY transaction_id\n");
+            } else {
+                params.addValue("g" + i, grams).addValue("n" + i, grams.size());
+                matches.append(" OR (kind = 'TRIGRAM' AND term IN (:g").append(i).append(")))\n")
+                        .append("    GROUP BY transaction_id\n")
+                        .append("    HAVING COUNT(DISTINCT CASE WHEN kind = 'TRIGRAM' THEN term END) = :n").append(i)
+                        .append("\n");
+            }
+            filters.append(" AND LOWER(COALESCE(h.description, c.description)) LIKE :like").append(i);
+        }
+        if (from != null) {
+            filters.append(" AND COALESCE(h.date_time, c.date_time) >= :from");
+            params.addValue("from", from);
+        }
+        if (to != null) {
+            filters.append(" AND COALESCE(h.date_time, c.date_time) < :to");
+            params.addValue("to", to);
+        }
+        if (minAmount != null) {
+            filters.append(" AND COALESCE(h.amount, c.amount) >= :minAmount");
+            params.addValue("minAmount", minAmount);
+        }
+        if (maxAmount != null) {
+            filters.append(" AND COALESCE(h.amount, c.amount) <= :maxAmount");
+            params.addValue("maxAmount", maxAmount);
+        }
+        params.addValue("words", words.size()).addValue("limit", pageSize + 1).addValue("offset", pageNumber * pageSize);
+
+        // Postings outlive tiering, so each hit is resolved against whichever tier currently holds the row
+        String sql = "SELECT s.transaction_id, s.score,\n" +
+                "    COALESCE(h.date_time, c.date_time) AS date_time,\n" +
+                "    COALESCE(h.amount, c.amount) AS amount,\n" +
+                "    COALESCE(h.description, c.description) AS description,\n" +
+                "    COALESCE(h.payment_type, c.payment_type) AS payment_type,\n" +
+                "    COALESCE(h.category_category_id, c.category_category_id) AS category_id,\n" +
+                "    COALESCE(h.account_account_id, c.account_account_id) AS account_id\n" +
+                "FROM (\n" +
+                "  SELECT m.transaction_id, SUM(m.score) AS score FROM (\n" + matches + "  ) m\n" +
+                "  GROUP BY m.transaction_id HAVING COUNT(*) = :words\n" +
+                ") s\n" +
+                "LEFT JOIN transactions h ON h.id = s.transaction_id AND h.deleted = false\n" +
+                "LEFT JOIN transactions_cold c ON c.id = s.transaction_id\n" +
+                "WHERE (h.id IS NOT NULL OR c.id IS NOT NULL)" + filters + "\n" +
+                "ORDER BY s.score DESC, date_time DESC, s.transaction_id DESC\n" +
+                "LIMIT :limit OFFSET :offset";
+        List<TransactionSearchHit> hits = new NamedParameterJdbcTemplate(jdbcTemplate).query(sql, params,
+                (rs, rowNum) -> new TransactionSearchHit(
+                        rs.getInt("transaction_id"),
+                        rs.getObject("date_time", Long.class),
+                        rs.getDouble("amount"),
+                        rs.getString("description"),
+                        rs.getString("payment_type"),
+                        rs.getObject("category_id", Integer.class),
+                        rs.getObject("account_id", Integer.class),
+                        rs.getInt("score")));
+        boolean hasMore = hits.size() > pageSize;
+        return new TransactionSearchPage(hasMore ? hits.subList(0, pageSize) : hits, pageNumber, pageSize, hasMore);
+    }
+}
@@ -1,34 +1,67 @@
 package com.example.personalfinance.service.impl;
 
 import com.example.personalfinance.bean.request.TransactionRequest;
+import com.example.personalfinance.bean.response.TransactionPage;
 import com.example.personalfinance.entity.Account;
 import com.example.personalfinance.entity.Category;
+import com.example.personalfinance.entity.ColdTransaction;
+import com.example.personalfinance.entity.PaymentType;
 import com.example.personalfinance.entity.Transaction;
 import com.example.personalfinance.entity.User;
+import com.example.personalfinance.repository.ColdTransactionRepository;
 import com.example.personalfinance.repository.TransactionRepository;
-import com.example.personalfinance.repository.UserRepository;
 import com.example.personalfinance.service.AccountService;
+import com.example.personalfinance.service.BudgetService;
 import com.example.personalfinance.service.CategoryService;
+import com.example.personalfinance.service.ForecastService;
+import com.example.personalfinance.service.RollupService;
+import com.example.personalfinance.service.TransactionSearchService;
 import com.example.personalfinance.service.TransactionService;
+import com.example.personalfinance.service.TransactionTierService;
+import com.example.personalfinance.service.UserIdentityService;
+import com.example.personalfinance.util.KeysetCursor;
+import com.example.personalfinance.util.KeysetMerge;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 public class TransactionServiceImpl implements TransactionService {
     private final TransactionRepository transactionRepository;
-    private final UserRepository userRepository;
+    private final UserIdentityService userIdentityService;
     private final CategoryService categoryService;
     private final AccountService accountService;
+    private final RollupService rollupService;
+    private final BudgetService budgetService;
+    private final ColdTransactionRepository coldTransactionRepository;
+    private final TransactionTierService transactionTierService;
+    private final TransactionSearchService transactionSearchService;
+    private final ForecastService forecastService;
+
+    @Value("${transaction.page.default-size}")
+    private int defaultPageSize;
+
+    @Value("${transaction.page.max-size}")
+    private int maxPageSize;
+
     @Override
     public List<Transaction> getTransactionsByUserName(String userName) {
         try {
-            User user = userRepository.findByEmail(userName).orElseThrow();
-            List<Transaction> transactionList = transactionRepository.findAllByUser(user);
+            User user = userIdentityService.getReference(userName);
+            List<Transaction> transactionList = new ArrayList<>(transactionRepository.findAllByUser(user));
+            coldTransactionRepository.findAllByUser(user).forEach(cold -> transactionList.add(cold.toTransaction()));
             transactionList.sort(Collections.reverseOrder());
             return transactionList;
         } catch (UsernameNotFoundException e) {
@@ -36,31 +69,89 @@ public class TransactionServiceImpl implements TransactionService {
         }
     }
 
+    @Override
+    public TransactionPage getTransactionsByUserName(String userName, String cursor, Integer size) {
+        User user = userIdentityService.getReference(userName);
+        int userId = user.getUserId();
+        return page(cursor, size,
+                limit -> transactionRepository.findFirstPageByUser(user, limit),
+                (after, limit) -> transactionRepository.findPageByUserAfter(user, after.dateTime(), after.id(), limit),
+                limit -> coldTransactionRepository.findFirstPageByUser(userId, limit),
+                (after, limit) -> coldTransactionRepository.findPageByUserAfter(userId, after.dateTime(), after.id(), limit));
+    }
+
+    @Override
+    public TransactionPage getTransactionsByPaymentType(String userName, PaymentType paymentType, String cursor, Integer size) {
+        User user = userIdentityService.getReference(userName);
+        int userId = user.getUserId();
+        String label = paymentType.getLabel();
+        return page(cursor, size,
+                limit -> transactionRepository.findFirstPageByUserAndPaymentType(user, label, limit),
+                (after, limit) -> transactionRepository.findPageByUserAndPaymentTypeAfter(user, label,
+                        after.dateTime(), after.id(), limit),
+                limit -> coldTransactionRepository.findFirstPageByUserAndPaymentType(userId, label, limit),
+                (after, limit) -> coldTransactionRepository.findPageByUserAndPaymentTypeAfter(userId, label,
+                        after.dateTime(), after.id(), limit));
+    }
+
+    private TransactionPage page(String cursor, Integer size, Function<Limit, List<Transaction>> first,
+                                 BiFunction<KeysetCursor, Limit, List<Transaction>> after,
+                                 Function<Limit, List<ColdTransaction>> coldFirst,
+                                 BiFunction<KeysetCursor, Limit, List<ColdTransaction>> coldAfter) {
+        int pageSize = size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+        // Fetch one extra row to know whether another page exists without a count query
+        Limit limit = Limit.of(pageSize + 1);
+        KeysetCursor position = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+        List<Transaction> rows = position == null ? first.apply(limit) : after.apply(position, limit);
+        // Cold rows all predate the horizon, so the cold tier is only read once the page runs past it
+        if (rows.size() <= pageSize || rows.get(pageSize).getDateTime() < transactionTierService.coldHorizon()) {
+            List<ColdTransaction> cold = position == null ? coldFirst.apply(limit) : coldAfter.apply(position, limit);
+            if (!cold.isEmpty()) {
+                rows = KeysetMerge.mergeDescending(rows, cold.stream().map(ColdTransaction::toTransaction).toList(),
+                        Transaction::getDateTime, Transaction::getId, pageSize + 1);
+            }
+        }
+        if (rows.size() <= pageSize) {
+            return new TransactionPage(rows, null);
+        }
+        List<Transaction> page = rows.subList(0, pageSize);
+        Transaction last = page.get(pageSize - 1);
+        return new TransactionPage(page, new KeysetCursor(last.getDateTime(), last.getId()).encode());
+    }
+
     @Override
     public List<Transaction> getTransactionsByAccount(String userName, Account account) {
         try {
-            User user = userRepository.findByEmail(userName).orElseThrow();
-            return transactionRepository.findAllByAccount(account);
+            User user = userIdentityService.getReference(userName);
+            List<Transaction> transactionList = new ArrayList<>(transactionRepository.findAllByAccount(account));
+            coldTransactionRepository.findAllByUserAndAccount(user, account)
+                    .forEach(cold -> transactionList.add(cold.toTransaction()));
+            return transactionList;
         } catch (UsernameNotFoundException e) {
            return null;
         }
     }
 
     @Override
+    @Transactional
     public void addTransaction(TransactionRequest transactionRequest, String userName) {
         Account account = accountService.getAccountById(transactionRequest.getAccountId());
         Category category = categoryService.getCategoryById(transactionRequest.getCategoryId());
-        User user = userRepository.findByEmail(userName).orElseThrow();
+        User user = userIdentityService.getReference(userName);
         Transaction transaction = new Transaction(
                 transactionRequest.getAmount(),
                 transactionRequest.getDescription(),
-                transactionRequest.getPaymentType(),
-                transactionRequest.getDateTime(),
+                PaymentType.normalize(transactionRequest.getPaymentType()),
+                transactionRequest.getDateTime() == null ? System.currentTimeMillis() : transactionRequest.getDateTime(),
                 category,
                 account,
                 user
         );
         transactionRepository.save(transaction);
+        transactionSearchService.index(transaction);
+        forecastService.record(transaction);
+        rollupService.record(transaction);
+        budgetService.recordExpense(transaction);
         if(category.getType().equals("expense")){
             accountService.debitBalance(account, transactionRequest.getAmount());
         }else if(category.getType().equals("income")){
@@ -69,38 +160,63 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     @Override
+    @Transactional
+    // Failures propagate: a nested @Transactional call that fails has already marked the transaction rollback-only
     public void updateTransaction(TransactionRequest transactionRequest, Integer transactionId, String userName) {
-        try{
-            Transaction entity = transactionRepository.findById(transactionId).orElseThrow();
-            Account account = accountService.getAccountById(transactionRequest.getAccountId());
-            Category category = categoryService.getCategoryById(transactionRequest.getCategoryId());
-            entity.setAccount(account);
-            entity.setCategory(category);
+        Transaction live = transactionRepository.findById(transactionId).orElse(null);
+        Transaction entity = live != null ? live : thawed(transactionId)
+                .orElseThrow(() -> new NoSuchElementException("Transaction " + transactionId + " not exist."));
+        Integer previousAccountId = entity.getAccount().getAccountId();
+        Account account = accountService.getAccountById(transactionRequest.getAccountId());
+        Category category = categoryService.getCategoryById(transactionRequest.getCategoryId());
+        rollupService.reverse(entity);
+        budgetService.reverseExpense(entity);
+        entity.setAccount(account);
+        entity.setCategory(category);
+        if (transactionRequest.getDateTime() != null) {
             entity.setDateTime(transactionRequest.getDateTime());
-            entity.setPaymentType(transactionRequest.getPaymentType());
-            entity.setDescription(transactionRequest.getDescription());
-            entity.setAmount(transactionRequest.getAmount());
-            transactionRepository.save(entity);
-        }catch (Exception ignore) {
-
+        }
+        entity.setPaymentType(PaymentType.normalize(transactionRequest.getPaymentType()));
+        entity.setDescription(transactionRequest.getDescription());
+        entity.setAmount(transactionRequest.getAmount());
+        transactionRepository.save(entity);
+        transactionSearchService.reindex(entity);
+        // An edit can move a transaction within or between series, so both accounts are queued for a refold
+        forecastService.requestRebuild(previousAccountId);
+        if (!previousAccountId.equals(account.getAccountId())) {
+            forecastService.requestRebuild(account.getAccountId());
+        }
+        rollupService.record(entity);
+        budgetService.recordExpense(entity);
+        // A thawed row still past the horizon goes straight back, so old rows keep living in the cold tier only
+        if (live == null && transactionTierService.reachesCold(entity.getDateTime())) {
+            transactionRepository.flush();
+            transactionTierService.freeze(entity.getId());
         }
     }
 
     @Override
+    @Transactional
     public void deleteTransaction(int id) {
-        try {
-            Transaction entity = transactionRepository.findById(id).orElseThrow();
-            transactionRepository.delete(entity);
-        }catch (Exception ignored){
+        Transaction entity = transactionRepository.findById(id).or(() -> thawed(id))
+                .orElseThrow(() -> new NoSuchElementException("Transaction " + id + " not exist."));
+        rollupService.reverse(entity);
+        budgetService.reverseExpense(entity);
+        transactionRepository.delete(entity);
+        transactionSearchService.remove(entity.getId());
+        forecastService.requestRebuild(entity.getAccount().getAccountId());
+    }
 
-        }
+    // Edits and deletes happen on the live table, so a row past the tiering horizon is moved back first
+    private Optional<Transaction> thawed(Integer transactionId) {
+        return transactionTierService.thaw(transactionId) ? transactionRepository.findById(transactionId) : Optional.empty();
     }
 
     @Override
     public boolean hasTransaction(String transactionId) {
         try {
-            Transaction entity = transactionRepository.findById(Integer.valueOf(transactionId)).orElseThrow();
-            return entity.getId() == Integer.parseInt(transactionId);
+            Integer id = Integer.valueOf(transactionId);
+            return transactionRepository.existsById(id) || coldTransactionRepository.existsById(id);
         }catch (Exception ignored){
             return false;
         }
@@ -109,9 +225,12 @@ public class TransactionServiceImpl implements TransactionService {
     @Override
     public boolean hasPermission(String userName, String transactionId) {
         try {
-            User user = userRepository.findByEmail(userName).orElseThrow();
-            Transaction entity = transactionRepository.findById(Integer.valueOf(transactionId)).orElseThrow();
-            return Objects.equals(entity.getUser().getUserId(), user.getUserId());
+            User user = userIdentityService.getReference(userName);
+            Integer id = Integer.valueOf(transactionId);
+            User owner = transactionRepository.findById(id).map(Transaction::getUser)
+                    .or(() -> coldTransactionRepository.findById(id).map(ColdTransaction::getUser))
+                    .orElseThrow();
+            return Objects.equals(owner.getUserId(), user.getUserId());
         }catch (Exception ignored){
             return false;
         }
@@ -0,0 +1,82 @@
+package com.example.personalfinance.service.impl;
+
+import com.example.personalfinance.service.TransactionTierService;
+import com.example.personalfinance.util.EpochRange;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class TransactionTierServiceImpl implements TransactionTierService {
+    private static final String COLUMNS = "id, amount, description, payment_type, date_time, category_category_id, " +
+            "account_account_id, user_id, deleted, created_at, updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${transaction.tiering.horizon-months}")
+    private int horizonMonths;
+
+    // Whole months, so a month is never split across tiers once the mover has caught up
+    @Override
+    public long coldHorizon() {
+        return EpochRange.ofMonth(YearMonth.now().minusMonths(horizonMonths)).from();
+    }
+
+    @Override
+    public boolean reachesCold(long from) {
+        return from < coldHorizon();
+    }
+
+    // Soft-deleted rows stay behind for SoftDeletePurgeJob
+    @Override
+    @Transactional
+    public int moveBatch(int batchSize) {
+        List<Integer> ids = jdbcTemplate.queryForList("SELECT id FROM transactions WHERE deleted = false AND date_time < ? " +
+                "ORDER BY date_time, id LIMIT ? FOR UPDATE", Integer.class, coldHorizon(), batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        move(ids);
+        return ids.size();
+    }
+
+    @Override
+    @Transactional
+    public boolean freeze(int transactionId) {
+        List<Integer> ids = jdbcTemplate.queryForList("SELECT id FROM transactions WHERE id = ? AND deleted = false " +
+                "AND date_time < ? FOR UPDATE", Integer.class, transactionId, coldHorizon());
+        if (ids.isEmpty()) {
+            return false;
+        }
+        move(ids);
+        return true;
+    }
+
+    private void move(List<Integer> ids) {
+        NamedParameterJdbcTemplate named = new NamedParameterJdbcTemplate(jdbcTemplate);
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+        named.update("INSERT INTO transactions_cold (" + COLUMNS + ") SELECT " + COLUMNS +
+                " FROM transactions WHERE id IN (:ids)", params);
+        named.update("DELETE FROM transactions WHERE id IN (:ids)", params);
+    }
+
+    @Override
+    @Transactional
+    public boolean thaw(int transactionId) {
+        int moved = jdbcTemplate.update("INSERT INTO transactions (" + COLUMNS + ") SELECT " + COLUMNS +
+                " FROM transactions_cold WHERE id = ?", transactionId);
+        if (moved == 0) {
+            return false;
+        }
+        jdbcTemplate.update("DELETE FROM transactions_cold WHERE id = ?", transactionId);
+        return true;
+    }
+}
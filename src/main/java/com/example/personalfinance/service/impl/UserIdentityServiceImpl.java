@@ -0,0 +1,66 @@
+package com.example.personalfinance.service.impl;
+
+import com.example.personalfinance.bean.UserIdentity;
+import com.example.personalfinance.entity.User;
+import com.example.personalfinance.repository.UserRepository;
+import com.example.personalfinance.service.UserIdentityService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+
+@Service
+public class UserIdentityServiceImpl implements UserIdentityService {
+    private final UserRepository userRepository;
+    private final Cache<String, UserIdentity> cache;
+
+    public UserIdentityServiceImpl(UserRepository userRepository,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${user.cache.maximum-size}") long maximumSize,
+                                   @Value("${user.cache.ttl}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userIdentity");
+    }
+
+    @Override
+    public UserIdentity findByEmail(String email) {
+        // Unknown emails map to null, which Caffeine does not store
+        UserIdentity identity = cache.get(email, key -> userRepository.findIdentityByEmail(key).orElse(null));
+        if (identity == null) {
+            throw new NoSuchElementException("User " + email + " not exist.");
+        }
+        return identity;
+    }
+
+    @Override
+    public User getReference(String email) {
+        return userRepository.getReferenceById(findByEmail(email).id());
+    }
+
+    @Override
+    public void evict(String email) {
+        cache.invalidate(email);
+    }
+
+    @Override
+    public void evict(int userId) {
+        // The old email of a renamed user is unknown here, so match on id
+        cache.asMap().values().removeIf(identity -> identity.id() == userId);
+    }
+
+    @Override
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
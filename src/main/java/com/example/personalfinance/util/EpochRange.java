@@ -0,0 +1,38 @@
+package com.example.personalfinance.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+
+// Half-open [from, to) interval in epoch milliseconds, matching transactions.date_time
+public record EpochRange(long from, long to) {
+
+    public static EpochRange ofMonth(YearMonth month) {
+        return ofMonths(month, 1);
+    }
+
+    // The given number of whole months ending with (and including) the last month
+    public static EpochRange ofMonths(YearMonth last, int months) {
+        return of(last.minusMonths(months - 1L).atDay(1), last.atEndOfMonth());
+    }
+
+    // The Monday-to-Sunday week containing the given day
+    public static EpochRange ofWeek(LocalDate day) {
+        LocalDate monday = day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        return of(monday, monday.plusDays(6));
+    }
+
+    // Whole days from first to last, both inclusive
+    public static EpochRange of(LocalDate first, LocalDate last) {
+        ZoneId zone = ZoneId.systemDefault();
+        long from = first.atStartOfDay(zone).toInstant().toEpochMilli();
+        long to = last.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        return new EpochRange(from, to);
+    }
+
+    public boolean contains(long epochMilli) {
+        return epochMilli >= from && epochMilli < to;
+    }
+}
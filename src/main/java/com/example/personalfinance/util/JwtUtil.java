@@ -1,14 +1,28 @@
 package com.example.personalfinance.util;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
+import javax.crypto.SecretKey;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwt;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 
 @Component
 public class JwtUtil {
@@ -19,12 +33,71 @@ public class JwtUtil {
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    @Value("${jwt.cache.maximum-size}")
+    private long cacheMaximumSize;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    // Subject and expiry of tokens whose signature has already been checked, keyed by SHA-256 of the token
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    public record VerifiedToken(String subject, Date expiration) {
+    }
+
+    // The secret's UTF-8 bytes are the HMAC key; Keys rejects anything shorter than 256 bits at startup
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(signingKey).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        long expiresAt = token.expiration() != null
+                                ? token.expiration().getTime()
+                                : System.currentTimeMillis() + expiration;
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, expiresAt - System.currentTimeMillis()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    public String generateToken(String username){
+        Date issuedAt = new Date();
+        return Jwts.builder()
+                .subject(username)
+                .issuedAt(issuedAt)
+                .expiration(new Date(issuedAt.getTime() + expiration))
+                .signWith(signingKey)
+                .compact();
+    }
+
+    // Parses and verifies the token at most once per token lifetime; invalid or expired tokens throw and are not cached
+    public VerifiedToken verify(String token){
+        return verifiedTokens.get(digest(token), key -> {
+            Claims claims = extractAllClaims(token);
+            return new VerifiedToken(claims.getSubject(), claims.getExpiration());
+        });
+    }
+
     public String extractUsername(String token){
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).subject();
     }
 
     public Date extractExpiration(String token){
-        return extractClaim(token, Claims::getExpiration);
+        return verify(token).expiration();
     }
 
     // public List<String> extractRoles(String token){
@@ -36,5 +109,16 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
 
-    
+    private Claims extractAllClaims(String token){
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    private static String digest(String token){
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
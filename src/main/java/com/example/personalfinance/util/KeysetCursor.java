@@ -0,0 +1,23 @@
+package com.example.personalfinance.util;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+// Opaque continuation token for (date_time, id) keyset pages
+public record KeysetCursor(long dateTime, int id) {
+
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + Integer.BYTES);
+        buffer.putLong(dateTime).putInt(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(token));
+            return new KeysetCursor(buffer.getLong(), buffer.getInt());
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.personalfinance.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+// Merges two lists already ordered by (dateTime desc, id desc) into the first `limit` rows of their union
+public final class KeysetMerge {
+    private KeysetMerge() {
+    }
+
+    public static <T> List<T> mergeDescending(List<T> first, List<T> second, ToLongFunction<T> dateTime,
+                                              ToIntFunction<T> id, int limit) {
+        if (second.isEmpty()) {
+            return first.size() > limit ? first.subList(0, limit) : first;
+        }
+        List<T> merged = new ArrayList<>(Math.min(limit, first.size() + second.size()));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < first.size() || j < second.size())) {
+            if (j == second.size()) {
+                merged.add(first.get(i++));
+            } else if (i == first.size()) {
+                merged.add(second.get(j++));
+            } else {
+                T a = first.get(i);
+                T b = second.get(j);
+                int order = Long.compare(dateTime.applyAsLong(b), dateTime.applyAsLong(a));
+                if (order == 0) {
+                    order = Integer.compare(id.applyAsInt(b), id.applyAsInt(a));
+                }
+                merged.add(order <= 0 ? first.get(i++) : second.get(j++));
+            }
+        }
+        return merged;
+    }
+}
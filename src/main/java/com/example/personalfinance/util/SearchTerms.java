@@ -0,0 +1,46 @@
+package com.example.personalfinance.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// Tokenizer shared by indexing and querying, so both sides agree on what a word is
+public final class SearchTerms {
+    public static final int MAX_WORD_LENGTH = 32;
+    public static final int GRAM = 3;
+
+    private SearchTerms() {
+    }
+
+    // Distinct lower-cased runs of letters and digits, in order of first appearance
+    public static List<String> words(String text) {
+        Set<String> words = new LinkedHashSet<>();
+        if (text == null) {
+            return List.of();
+        }
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                if (current.length() < MAX_WORD_LENGTH) {
+                    current.append(c);
+                }
+            } else if (!current.isEmpty()) {
+                words.add(current.toString().toLowerCase(Locale.ROOT));
+                current.setLength(0);
+            }
+        }
+        return new ArrayList<>(words);
+    }
+
+    // Words shorter than GRAM have no trigrams and are matched by prefix only
+    public static Set<String> trigrams(String word) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= word.length(); i++) {
+            grams.add(word.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.personalfinance.config;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkheadFilterTests {
+    private final List<BulkheadFilter.Group> rejected = new ArrayList<>();
+    private final BulkheadFilter filter = new BulkheadFilter(
+            Map.of(BulkheadFilter.Group.DASHBOARD, 1,
+                    BulkheadFilter.Group.BULK, 1,
+                    BulkheadFilter.Group.CRUD, 2),
+            3, rejected::add);
+
+    @Test
+    void resolvesGroupsFromPath() {
+        assertEquals(BulkheadFilter.Group.DASHBOARD, BulkheadFilter.groupOf(new MockHttpServletRequest("GET", "/dashboard/summary")));
+        assertEquals(BulkheadFilter.Group.BULK, BulkheadFilter.groupOf(new MockHttpServletRequest("GET", "/transactions/export")));
+        assertEquals(BulkheadFilter.Group.BULK, BulkheadFilter.groupOf(new MockHttpServletRequest("POST", "/transactions/import")));
+        assertEquals(BulkheadFilter.Group.CRUD, BulkheadFilter.groupOf(new MockHttpServletRequest("GET", "/transactions")));
+    }
+
+    @Test
+    void rejectsWhenGroupIsFullWithoutTouchingOtherGroups() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        FilterChain slow = (request, response) -> {
+            entered.countDown();
+            try {
+                finish.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        Thread holder = Thread.ofVirtual().start(() -> {
+            try {
+                filter.doFilter(new MockHttpServletRequest("GET", "/dashboard"), new MockHttpServletResponse(), slow);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        MockHttpServletResponse dashboard = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/dashboard"), dashboard, (request, response) -> { });
+        assertEquals(503, dashboard.getStatus());
+        assertEquals("3", dashboard.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(List.of(BulkheadFilter.Group.DASHBOARD), rejected);
+
+        MockHttpServletResponse crud = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/debts"), crud, (request, response) -> { });
+        assertEquals(200, crud.getStatus());
+
+        finish.countDown();
+        holder.join();
+        assertEquals(1, filter.available(BulkheadFilter.Group.DASHBOARD));
+        assertEquals(2, filter.available(BulkheadFilter.Group.CRUD));
+    }
+
+    @Test
+    void bulkRejectionIsTooManyRequests() throws Exception {
+        MockHttpServletRequest first = new MockHttpServletRequest("GET", "/transactions/export");
+        first.setAsyncSupported(true);
+        // An export that has gone async keeps its permit until the async cycle completes
+        filter.doFilter(first, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+        assertEquals(0, filter.available(BulkheadFilter.Group.BULK));
+
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/transactions/export"), second, (request, response) -> { });
+        assertEquals(429, second.getStatus());
+
+        first.getAsyncContext().complete();
+        assertEquals(1, filter.available(BulkheadFilter.Group.BULK));
+    }
+
+    @Test
+    void dashboardFanOutCountsAgainstThePool() {
+        BulkheadConfig config = new BulkheadConfig();
+        // 3 admitted dashboards + 4 summary threads + 2 bulk leave one of 10 connections for CRUD
+        config.bulkheadFilter(new SimpleMeterRegistry(), 10, 3, 2, 200, 1, 4);
+        assertThrows(IllegalStateException.class,
+                () -> config.bulkheadFilter(new SimpleMeterRegistry(), 10, 4, 2, 200, 1, 4));
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.personalfinance.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Compares the default mode (fixed platform pool, no bulkheads) with the opt-in mode (virtual threads + bulkheads)
+// for a mix of slow dashboard calls and cheap CRUD calls sharing a 10-connection pool.
+// mvn test -Dtest=BulkheadLoadComparisonTests -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BulkheadLoadComparisonTests {
+    private static final int POOL_SIZE = 10;
+    private static final int TOMCAT_THREADS = 200;
+    private static final int DASHBOARD_REQUESTS = 2_000;
+    private static final int CRUD_REQUESTS = 2_000;
+    private static final long DASHBOARD_MILLIS = 200;
+    private static final long CRUD_MILLIS = 2;
+
+    @Test
+    void compareModes() throws Exception {
+        report("platform threads, no bulkhead", run(Executors.newFixedThreadPool(TOMCAT_THREADS), null));
+        BulkheadFilter filter = new BulkheadFilter(
+                Map.of(BulkheadFilter.Group.DASHBOARD, 4,
+                        BulkheadFilter.Group.BULK, 2,
+                        BulkheadFilter.Group.CRUD, 200),
+                1, group -> { });
+        report("virtual threads, bulkhead", run(Executors.newVirtualThreadPerTaskExecutor(), filter));
+    }
+
+    private Result run(ExecutorService executor, BulkheadFilter filter) throws Exception {
+        Semaphore connections = new Semaphore(POOL_SIZE, true);
+        List<Long> crudLatencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try (executor) {
+            for (int i = 0; i < DASHBOARD_REQUESTS + CRUD_REQUESTS; i++) {
+                boolean dashboard = i % 2 == 0;
+                futures.add(executor.submit(() -> {
+                    long start = System.nanoTime();
+                    MockHttpServletRequest request = new MockHttpServletRequest("GET", dashboard ? "/dashboard" : "/debts");
+                    MockHttpServletResponse response = new MockHttpServletResponse();
+                    if (filter == null) {
+                        query(connections, dashboard ? DASHBOARD_MILLIS : CRUD_MILLIS);
+                    } else {
+                        filter.doFilter(request, response, (req, res) -> query(connections, dashboard ? DASHBOARD_MILLIS : CRUD_MILLIS));
+                    }
+                    if (response.getStatus() != 200) {
+                        rejected.incrementAndGet();
+                    } else if (!dashboard) {
+                        crudLatencies.add(System.nanoTime() - start);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        return new Result(crudLatencies, rejected.get());
+    }
+
+    private static void query(Semaphore connections, long millis) {
+        try {
+            connections.acquire();
+            try {
+                Thread.sleep(millis);
+            } finally {
+                connections.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void report(String mode, Result result) {
+        List<Long> sorted = new ArrayList<>(result.crudLatencies());
+        Collections.sort(sorted);
+        System.out.printf("%-32s crud p50=%dms p99=%dms rejected=%d%n", mode,
+                TimeUnit.NANOSECONDS.toMillis(percentile(sorted, 0.50)),
+                TimeUnit.NANOSECONDS.toMillis(percentile(sorted, 0.99)),
+                result.rejected());
+    }
+
+    private static long percentile(List<Long> sorted, double p) {
+        return sorted.isEmpty() ? 0 : sorted.get((int) Math.min(sorted.size() - 1, Math.round(p * sorted.size())));
+    }
+
+    private record Result(List<Long> crudLatencies, int rejected) {
+    }
+}
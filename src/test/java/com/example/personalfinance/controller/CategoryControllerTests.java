@@ -0,0 +1,39 @@
+package com.example.personalfinance.controller;
+
+import com.example.personalfinance.service.CategoryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.NoSuchElementException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class CategoryControllerTests {
+    private final CategoryService categoryService = mock(CategoryService.class);
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new CategoryController(categoryService)).build();
+
+    @Test
+    void malformedCursorIsBadRequest() throws Exception {
+        when(categoryService.getCategoryDrillDown(eq("user@example.com"), anyInt(), any(), eq("bogus"), any()))
+                .thenThrow(new IllegalArgumentException("Invalid cursor: bogus"));
+
+        mockMvc.perform(get("/category/{id}/transactions", 1).param("cursor", "bogus").principal(() -> "user@example.com"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void missingOrForeignCategoryIsNotFound() throws Exception {
+        when(categoryService.getCategoryDrillDown(eq("user@example.com"), eq(2), any(), any(), any()))
+                .thenThrow(new NoSuchElementException("Category 2 not exist."));
+
+        mockMvc.perform(get("/category/{id}/transactions", 2).principal(() -> "user@example.com"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.personalfinance.controller;
+
+import com.example.personalfinance.service.ProfileImageService;
+import com.example.personalfinance.service.impl.FileSystemBlobStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ProfileImageControllerTests {
+    private static final byte[] IMAGE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n', 1, 2, 3};
+
+    @TempDir
+    Path root;
+
+    private MockMvc mockMvc;
+    private String hash;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        FileSystemBlobStore blobStore = new FileSystemBlobStore(root.toString());
+        hash = blobStore.put(new ByteArrayInputStream(IMAGE));
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new ProfileImageController(mock(ProfileImageService.class), blobStore))
+                .build();
+    }
+
+    @Test
+    void servesTheBlobWithAnImmutableEtag() throws Exception {
+        mockMvc.perform(get("/profile/image/{hash}", hash))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + hash + "\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"))
+                .andExpect(content().bytes(IMAGE));
+    }
+
+    @Test
+    void matchingIfNoneMatchIsNotModified() throws Exception {
+        mockMvc.perform(get("/profile/image/{hash}", hash).header(HttpHeaders.IF_NONE_MATCH, "\"" + hash + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+        mockMvc.perform(get("/profile/image/{hash}", hash).header(HttpHeaders.IF_NONE_MATCH, "\"" + "0".repeat(64) + "\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void unknownHashesAreNotFound() throws Exception {
+        mockMvc.perform(get("/profile/image/{hash}", "0".repeat(64)))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.personalfinance.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PaymentTypeTests {
+
+    @Test
+    void masksRoundTripThroughLabelsInDeclarationOrder() {
+        int mask = PaymentType.maskOf(List.of("Bank Transfer", " cash ", "DEBIT_CARD", ""));
+        assertThat(mask).isEqualTo(PaymentType.CASH.bit() | PaymentType.DEBIT_CARD.bit() | PaymentType.BANK_TRANSFER.bit());
+        assertThat(PaymentType.labelsOf(mask)).containsExactly("Cash", "Debit Card", "Bank Transfer");
+        assertThat(PaymentType.joinedLabelsOf(mask)).isEqualTo("Cash, Debit Card, Bank Transfer");
+        assertThat(PaymentType.labelsOf(0)).isEmpty();
+        List<String> all = Arrays.stream(PaymentType.values()).map(PaymentType::getLabel).toList();
+        assertThat(PaymentType.labelsOf(PaymentType.maskOf(all))).isEqualTo(all);
+    }
+
+    @Test
+    void unknownLabelsAreOtherAndNormalizeToItsLabel() {
+        assertThat(PaymentType.find("Venmo")).isEmpty();
+        assertThat(PaymentType.fromLabel("Venmo")).isEqualTo(PaymentType.OTHER);
+        assertThat(PaymentType.maskOf(List.of("Venmo"))).isEqualTo(PaymentType.OTHER.bit());
+        assertThat(PaymentType.normalize("e-wallet")).isEqualTo("E-Wallet");
+        assertThat(PaymentType.normalize("Venmo")).isEqualTo("Other");
+        assertThat(PaymentType.normalize(" ")).isNull();
+        assertThat(PaymentType.normalize(null)).isNull();
+    }
+
+    @Test
+    void accountsAcceptOnlyTheirOwnTypes() {
+        Account account = new Account();
+        account.setPaymentTypes(List.of("Cash", "Credit Card"));
+        assertThat(account.accepts(PaymentType.CASH)).isTrue();
+        assertThat(account.accepts(PaymentType.CREDIT_CARD)).isTrue();
+        assertThat(account.accepts(PaymentType.DEBIT_CARD)).isFalse();
+        assertThat(account.accepts(PaymentType.OTHER)).isFalse();
+        assertThat(account.getPaymentTypes()).containsExactly("Cash", "Credit Card");
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.personalfinance.entity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecurringSeriesTests {
+    private static final long DAY = 24L * 60 * 60 * 1000;
+
+    @Test
+    void regularMonthlyPaymentsAreRecurring() {
+        RecurringSeries series = new RecurringSeries();
+        long[] days = {0, 31, 59, 90, 120};
+        for (long day : days) {
+            series.observe(day * DAY, 100 + day % 3);
+        }
+        assertThat(series.getOccurrences()).isEqualTo(5);
+        assertThat(series.getMeanIntervalMillis()).isEqualTo(30 * DAY);
+        assertThat(series.getMeanAmount()).isBetween(100.0, 102.0);
+        assertThat(series.isRecurring(3, 0.25)).isTrue();
+        assertThat(series.isLapsed(150 * DAY)).isFalse();
+        assertThat(series.isLapsed(181 * DAY)).isTrue();
+    }
+
+    @Test
+    void irregularOrSameDayEntriesAreNot() {
+        RecurringSeries irregular = new RecurringSeries();
+        for (long day : new long[]{0, 3, 40, 45, 120}) {
+            irregular.observe(day * DAY, 20);
+        }
+        assertThat(irregular.isRecurring(3, 0.25)).isFalse();
+
+        RecurringSeries sameDay = new RecurringSeries();
+        for (int i = 0; i < 4; i++) {
+            sameDay.observe(10 * DAY + i, 5);
+        }
+        assertThat(sameDay.isRecurring(3, 0.25)).isFalse();
+    }
+
+    @Test
+    void amountBandIsRelativeToTheMean() {
+        RecurringSeries series = new RecurringSeries();
+        series.observe(0, 80);
+        assertThat(series.matchesAmount(99, 0.25)).isTrue();
+        assertThat(series.matchesAmount(101, 0.25)).isFalse();
+    }
+}
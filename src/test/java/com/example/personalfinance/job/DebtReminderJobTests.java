@@ -0,0 +1,102 @@
+package com.example.personalfinance.job;
+
+import com.example.personalfinance.entity.Debt;
+import com.example.personalfinance.entity.User;
+import com.example.personalfinance.repository.DebtRepository;
+import com.example.personalfinance.repository.UserRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.Message;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "debt.reminder.enabled=true",
+        "debt.reminder.page-size=2"
+})
+@ActiveProfiles("embedded")
+class DebtReminderJobTests {
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private DebtReminderJob debtReminderJob;
+    @Autowired
+    private DebtRepository debtRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void sendsOneDigestPerUserAndSkipsRemindedDebtsOnRerun() throws Exception {
+        LocalDate today = LocalDate.now();
+        User user = new User();
+        user.setEmail("reminder-" + UUID.randomUUID() + "@example.com");
+        user.setFirstName("Reminder");
+        userRepository.save(user);
+        User other = new User();
+        other.setEmail("reminder-" + UUID.randomUUID() + "@example.com");
+        userRepository.save(other);
+        // Pages walk (due date, user, id) with a page size of two, so both users' debts interleave across pages
+        saveDebt(user, today.plusDays(1), 10);
+        saveDebt(other, today.plusDays(1), 15);
+        saveDebt(user, today.plusDays(2), 20);
+        saveDebt(other, today.plusDays(3), 35);
+        saveDebt(user, today.plusDays(3), 30);
+        saveDebt(user, today.plusDays(30), 40);
+        saveDebt(user, today.plusDays(1), 50, "Paid");
+        saveDebt(user, today.plusDays(2), 60, "settled");
+
+        debtReminderJob.runOnce(today);
+
+        List<MimeMessage> digests = messagesTo(user.getEmail());
+        assertThat(digests).hasSize(1);
+        assertThat((String) digests.get(0).getContent()).contains("10.00", "20.00", "30.00").doesNotContain("40.00", "50.00", "60.00");
+        List<MimeMessage> otherDigests = messagesTo(other.getEmail());
+        assertThat(otherDigests).hasSize(1);
+        assertThat((String) otherDigests.get(0).getContent()).contains("15.00", "35.00");
+
+        debtReminderJob.runOnce(today);
+
+        assertThat(messagesTo(user.getEmail())).hasSize(1);
+        assertThat(messagesTo(other.getEmail())).hasSize(1);
+    }
+
+    private void saveDebt(User user, LocalDate dueDate, double amount) {
+        saveDebt(user, dueDate, amount, "unpaid");
+    }
+
+    private void saveDebt(User user, LocalDate dueDate, double amount, String status) {
+        Debt debt = new Debt();
+        debt.setUser(user);
+        debt.setDueDate(dueDate);
+        debt.setAmount(amount);
+        debt.setStatus(status);
+        debtRepository.save(debt);
+    }
+
+    private List<MimeMessage> messagesTo(String email) {
+        return Arrays.stream(greenMail.getReceivedMessages())
+                .filter(message -> {
+                    try {
+                        return Arrays.stream(message.getRecipients(Message.RecipientType.TO))
+                                .anyMatch(address -> address.toString().equals(email));
+                    } catch (Exception e) {
+                        return false;
+                    }
+                })
+                .toList();
+    }
+}
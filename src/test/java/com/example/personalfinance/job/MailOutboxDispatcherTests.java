@@ -0,0 +1,150 @@
+package com.example.personalfinance.job;
+
+import com.example.personalfinance.entity.MailOutbox;
+import com.example.personalfinance.repository.MailOutboxRepository;
+import com.example.personalfinance.service.MailOutboxService;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.Message;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Needs the live MySQL from application.properties (mvn -Pmysql test): claiming relies on FOR UPDATE SKIP LOCKED
+@SpringBootTest(properties = {
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "mail.outbox.enabled=true",
+        "mail.outbox.poll-interval=1h",
+        "mail.outbox.max-attempts=2",
+        "mail.outbox.backoff-base=30s"
+})
+@EnabledIfSystemProperty(named = "mysql", matches = "true")
+class MailOutboxDispatcherTests {
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private MailOutboxDispatcher dispatcher;
+    @Autowired
+    private MailOutboxService mailOutboxService;
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void deliversQueuedMailAndMarksItSent() throws Exception {
+        String recipient = recipient();
+        mailOutboxService.enqueue(recipient, "Welcome", "Hello");
+
+        dispatcher.drain();
+
+        List<MimeMessage> received = messagesTo(recipient);
+        assertThat(received).hasSize(1);
+        assertThat(received.get(0).getSubject()).isEqualTo("Welcome");
+        MailOutbox mail = find(recipient);
+        assertThat(mail.getStatus()).isEqualTo(MailOutbox.Status.SENT);
+        assertThat(mail.getSentAt()).isNotNull();
+        assertThat(mail.getAttempts()).isZero();
+    }
+
+    @Test
+    void smtpFailuresBackOffAndDeadLetterAfterMaxAttempts() {
+        String recipient = recipient();
+        mailOutboxService.enqueue(recipient, "Welcome", "Hello");
+        greenMail.stop();
+
+        LocalDateTime beforeFirstAttempt = LocalDateTime.now();
+        dispatcher.drain();
+
+        MailOutbox mail = find(recipient);
+        assertThat(mail.getStatus()).isEqualTo(MailOutbox.Status.PENDING);
+        assertThat(mail.getAttempts()).isEqualTo(1);
+        assertThat(mail.getLastError()).isNotBlank();
+        assertThat(mail.getNextAttemptAt()).isAfterOrEqualTo(beforeFirstAttempt.plusSeconds(29));
+
+        // Not due yet, so another drain leaves it alone
+        dispatcher.drain();
+        assertThat(find(recipient).getAttempts()).isEqualTo(1);
+
+        mail.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        mailOutboxRepository.save(mail);
+        dispatcher.drain();
+
+        mail = find(recipient);
+        assertThat(mail.getStatus()).isEqualTo(MailOutbox.Status.DEAD);
+        assertThat(mail.getAttempts()).isEqualTo(2);
+        assertThat(mail.getSentAt()).isNull();
+    }
+
+    @Test
+    void claimsSkipLockedRowsAndLeaseWhatTheyTake() throws Exception {
+        String first = recipient();
+        String second = recipient();
+        mailOutboxService.enqueue(first, "First", "Hello");
+        mailOutboxService.enqueue(second, "Second", "Hello");
+        Long firstId = find(first).getId();
+        Long secondId = find(second).getId();
+
+        List<Long> claimedWhileLocked = transactionTemplate.execute(status -> {
+            // Hold the row locks, as another worker mid-claim would
+            List<MailOutbox> due = mailOutboxRepository.lockDue(LocalDateTime.now(), Integer.MAX_VALUE);
+            assertThat(due).extracting(MailOutbox::getId).contains(firstId, secondId);
+            return claimIdsElsewhere(firstId, secondId);
+        });
+        // Both rows were locked by the first claimant, so the second one skipped them instead of waiting
+        assertThat(claimedWhileLocked).isEmpty();
+
+        List<Long> claimed = mailOutboxService.claimBatch().stream().map(MailOutbox::getId).toList();
+        assertThat(claimed).contains(firstId, secondId);
+        assertThat(find(first).getNextAttemptAt()).isAfter(LocalDateTime.now());
+        assertThat(mailOutboxService.claimBatch()).extracting(MailOutbox::getId).doesNotContain(firstId, secondId);
+    }
+
+    private List<Long> claimIdsElsewhere(Long... ids) {
+        try {
+            return CompletableFuture.supplyAsync(() -> mailOutboxService.claimBatch()).get(10, TimeUnit.SECONDS)
+                    .stream().map(MailOutbox::getId).filter(List.of(ids)::contains).toList();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private MailOutbox find(String recipient) {
+        return mailOutboxRepository.findAll().stream()
+                .filter(mail -> mail.getRecipient().equals(recipient))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static String recipient() {
+        return "outbox-" + UUID.randomUUID() + "@example.com";
+    }
+
+    private List<MimeMessage> messagesTo(String email) {
+        return Arrays.stream(greenMail.getReceivedMessages())
+                .filter(message -> {
+                    try {
+                        return Arrays.stream(message.getRecipients(Message.RecipientType.TO))
+                                .anyMatch(address -> address.toString().equals(email));
+                    } catch (Exception e) {
+                        return false;
+                    }
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.personalfinance.job;
+
+import com.example.personalfinance.entity.PaymentType;
+import com.example.personalfinance.repository.AccountRepository;
+import com.example.personalfinance.repository.BudgetRepository;
+import com.example.personalfinance.repository.CategoryRepository;
+import com.example.personalfinance.repository.DebtRepository;
+import com.example.personalfinance.repository.TransactionRepository;
+import com.example.personalfinance.repository.UserRepository;
+import com.example.personalfinance.service.BudgetService;
+import com.example.personalfinance.service.RollupService;
+import com.example.personalfinance.support.SyntheticDataGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("embedded")
+class PaymentTypeMigrationRunnerTests {
+    @Autowired
+    private PaymentTypeMigrationRunner runner;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private BudgetService budgetService;
+    @Autowired
+    private RollupService rollupService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private BudgetRepository budgetRepository;
+    @Autowired
+    private DebtRepository debtRepository;
+
+    // The legacy column is no longer mapped, so it is recreated for the duration of the test
+    @BeforeEach
+    void addLegacyColumn() {
+        jdbcTemplate.execute("ALTER TABLE accounts ADD COLUMN IF NOT EXISTS payment_types VARCHAR(255)");
+    }
+
+    @AfterEach
+    void dropLegacyColumn() {
+        jdbcTemplate.execute("ALTER TABLE accounts DROP COLUMN IF EXISTS payment_types");
+    }
+
+    @Test
+    void keepsUnknownLabelsAsideAndNormalizesTransactionSpellings() throws Exception {
+        int userId = new SyntheticDataGenerator(userRepository, accountRepository, categoryRepository,
+                transactionRepository, budgetRepository, debtRepository, rollupService, budgetService)
+                .seed(20L, 1, 1, 3).get(0).userId();
+        int accountId = jdbcTemplate.queryForObject("SELECT account_id FROM accounts WHERE user_id = ?", Integer.class, userId);
+        jdbcTemplate.update("UPDATE accounts SET payment_type_mask = 0, payment_types = ? WHERE account_id = ?",
+                "Cash, Venmo,  debit card , Barter", accountId);
+        List<Integer> ids = jdbcTemplate.queryForList("SELECT id FROM transactions WHERE user_id = ? ORDER BY id",
+                Integer.class, userId);
+        jdbcTemplate.update("UPDATE transactions SET payment_type = 'cash' WHERE id = ?", ids.get(0));
+        jdbcTemplate.update("UPDATE transactions SET payment_type = 'DEBIT_CARD' WHERE id = ?", ids.get(1));
+        jdbcTemplate.update("UPDATE transactions SET payment_type = 'Venmo' WHERE id = ?", ids.get(2));
+
+        runner.run(new DefaultApplicationArguments());
+
+        Map<String, Object> account = jdbcTemplate.queryForMap(
+                "SELECT payment_types, payment_type_mask, unmapped_payment_types FROM accounts WHERE account_id = ?", accountId);
+        assertThat(account.get("payment_types")).isNull();
+        assertThat(PaymentType.labelsOf(((Number) account.get("payment_type_mask")).intValue()))
+                .containsExactly("Cash", "Debit Card", "Other");
+        assertThat(account.get("unmapped_payment_types")).isEqualTo("Venmo, Barter");
+        assertThat(jdbcTemplate.queryForList("SELECT payment_type FROM transactions WHERE user_id = ? ORDER BY id",
+                String.class, userId)).containsExactly("Cash", "Debit Card", "Venmo");
+
+        // A second run has nothing left to convert
+        runner.run(new DefaultApplicationArguments());
+        assertThat(jdbcTemplate.queryForObject("SELECT unmapped_payment_types FROM accounts WHERE account_id = ?",
+                String.class, accountId)).isEqualTo("Venmo, Barter");
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.personalfinance.job;
+
+import com.example.personalfinance.entity.User;
+import com.example.personalfinance.repository.UserRepository;
+import com.example.personalfinance.service.BlobStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "blob.store.root=target/test-blobs")
+@ActiveProfiles("embedded")
+class ProfileImageMigrationRunnerTests {
+    @Autowired
+    private ProfileImageMigrationRunner runner;
+    @Autowired
+    private BlobStore blobStore;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // The legacy column is no longer mapped, so it is recreated for the duration of the test
+    @BeforeEach
+    void addLegacyColumn() {
+        jdbcTemplate.execute("ALTER TABLE users ADD COLUMN IF NOT EXISTS profile_image VARBINARY(1048576)");
+    }
+
+    @AfterEach
+    void dropLegacyColumn() {
+        jdbcTemplate.execute("ALTER TABLE users DROP COLUMN IF EXISTS profile_image");
+    }
+
+    @Test
+    void movesLegacyImagesIntoTheBlobStore() throws Exception {
+        User user = new User();
+        user.setEmail("legacy-image-" + UUID.randomUUID() + "@example.com");
+        userRepository.save(user);
+        byte[] image = {1, 2, 3, 4};
+        jdbcTemplate.update("UPDATE users SET profile_image = ? WHERE user_id = ?", image, user.getUserId());
+
+        runner.run(new DefaultApplicationArguments());
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT profile_image, profile_image_hash FROM users WHERE user_id = ?", user.getUserId());
+        assertThat(row.get("profile_image")).isNull();
+        String hash = (String) row.get("profile_image_hash");
+        assertThat(Files.readAllBytes(blobStore.resolve(hash).orElseThrow())).isEqualTo(image);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.personalfinance.job;
+
+import com.example.personalfinance.repository.AccountRepository;
+import com.example.personalfinance.repository.BudgetRepository;
+import com.example.personalfinance.repository.CategoryRepository;
+import com.example.personalfinance.repository.DebtRepository;
+import com.example.personalfinance.repository.TransactionRepository;
+import com.example.personalfinance.repository.UserRepository;
+import com.example.personalfinance.service.BudgetService;
+import com.example.personalfinance.service.RollupService;
+import com.example.personalfinance.service.TransactionSearchService;
+import com.example.personalfinance.support.SyntheticDataGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Needs the live MySQL from application.properties (mvn -Pmysql test): the job relies on CREATE TABLE LIKE,
+// INSERT IGNORE and information_schema.columns.column_type
+@SpringBootTest(properties = {"soft-delete.purge.enabled=true", "soft-delete.purge.retention=30d"})
+@EnabledIfSystemProperty(named = "mysql", matches = "true")
+class SoftDeletePurgeJobTests {
+    @Autowired
+    private SoftDeletePurgeJob purgeJob;
+    @Autowired
+    private TransactionSearchService transactionSearchService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private BudgetService budgetService;
+    @Autowired
+    private RollupService rollupService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private BudgetRepository budgetRepository;
+    @Autowired
+    private DebtRepository debtRepository;
+
+    @Test
+    void archivesExpiredRowsByColumnNameAndKeepsReferencedParents() {
+        SyntheticDataGenerator.SeededUser user = new SyntheticDataGenerator(userRepository, accountRepository,
+                categoryRepository, transactionRepository, budgetRepository, debtRepository, rollupService, budgetService)
+                .seed(22L, 1, 2, 5).get(0);
+        transactionSearchService.rebuild(user.userId());
+        List<Integer> accounts = jdbcTemplate.queryForList(
+                "SELECT account_id FROM accounts WHERE user_id = ? ORDER BY account_id", Integer.class, user.userId());
+        List<Map<String, Object>> kept = transactionsOf(accounts.get(0));
+        List<Map<String, Object>> dropped = transactionsOf(accounts.get(1));
+        Map<String, Object> expired = kept.get(0);
+        Integer expiredId = (Integer) expired.get("id");
+        Integer recentId = (Integer) kept.get(1).get("id");
+        Map<String, Object> drifted = kept.get(2);
+        Integer driftedId = (Integer) drifted.get("id");
+        assertThat(postingsOf(expiredId)).isPositive();
+        softDelete("transactions", "id", expiredId, 40);
+        softDelete("transactions", "id", recentId, 1);
+        // The first account keeps live transactions, so it must stay; the second loses all of its rows
+        softDelete("accounts", "account_id", accounts.get(0), 40);
+        for (Map<String, Object> row : dropped) {
+            softDelete("transactions", "id", (Integer) row.get("id"), 40);
+        }
+        softDelete("accounts", "account_id", accounts.get(1), 40);
+
+        purgeJob.purge();
+        // Simulate an archive created before description existed: the next copy must still line columns up by name
+        jdbcTemplate.execute("ALTER TABLE transactions_archive DROP COLUMN description");
+        softDelete("transactions", "id", driftedId, 40);
+        purgeJob.purge();
+
+        assertThat(count("transactions", "id", expiredId)).isZero();
+        Map<String, Object> archived = jdbcTemplate.queryForMap(
+                "SELECT amount, description FROM transactions_archive WHERE id = ?", expiredId);
+        assertThat(((Number) archived.get("amount")).doubleValue()).isEqualTo(((Number) expired.get("amount")).doubleValue());
+        Map<String, Object> archivedAfterDrift = jdbcTemplate.queryForMap(
+                "SELECT amount, description FROM transactions_archive WHERE id = ?", driftedId);
+        assertThat(archivedAfterDrift.get("description")).isEqualTo(drifted.get("description"));
+        assertThat(((Number) archivedAfterDrift.get("amount")).doubleValue())
+                .isEqualTo(((Number) drifted.get("amount")).doubleValue());
+        assertThat(postingsOf(expiredId)).isZero();
+        assertThat(postingsOf(driftedId)).isZero();
+        assertThat(postingsOf(recentId)).isPositive();
+
+        assertThat(count("transactions", "id", recentId)).isOne();
+        assertThat(count("accounts", "account_id", accounts.get(0))).isOne();
+        assertThat(count("accounts", "account_id", accounts.get(1))).isZero();
+        assertThat(count("accounts_archive", "account_id", accounts.get(1))).isOne();
+    }
+
+    private List<Map<String, Object>> transactionsOf(Integer accountId) {
+        return jdbcTemplate.queryForList("SELECT id, amount, description FROM transactions " +
+                "WHERE account_account_id = ? ORDER BY id", accountId);
+    }
+
+    private int postingsOf(Integer transactionId) {
+        return count("transaction_search_terms", "transaction_id", transactionId);
+    }
+
+    private void softDelete(String table, String idColumn, Integer id, int daysAgo) {
+        jdbcTemplate.update("UPDATE " + table + " SET deleted = true, updated_at = NOW() - INTERVAL " + daysAgo + " DAY " +
+                "WHERE " + idColumn + " = ?", id);
+    }
+
+    private int count(String table, String idColumn, Integer id) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE " + idColumn + " = ?", Integer.class, id);
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.personalfinance.perf;
+
+import com.example.personalfinance.repository.AccountRepository;
+import com.example.personalfinance.repository.BudgetRepository;
+import com.example.personalfinance.repository.CategoryRepository;
+import com.example.personalfinance.repository.DebtRepository;
+import com.example.personalfinance.repository.TransactionRepository;
+import com.example.personalfinance.repository.UserRepository;
+import com.example.personalfinance.service.AccountService;
+import com.example.personalfinance.service.BudgetService;
+import com.example.personalfinance.service.DebtService;
+import com.example.personalfinance.service.RollupService;
+import com.example.personalfinance.service.TransactionExportService;
+import com.example.personalfinance.service.TransactionService;
+import com.example.personalfinance.support.SyntheticDataGenerator;
+import com.example.personalfinance.util.EpochRange;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// End-to-end latency per endpoint against embedded H2, seeded by SyntheticDataGenerator.
+// mvn -Pperf test -Dperf.users=20 -Dperf.accounts=3 -Dperf.transactions=500 -Dperf.clients=16 -Dperf.requests=200
+// Only the dashboard has a mapped controller in this tree; the other groups call the service the controller would.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("embedded")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "perf", matches = "true")
+class LatencyHarnessTests {
+    private static final long SEED = 20240601L;
+
+    private final int users = Integer.getInteger("perf.users", 20);
+    private final int accounts = Integer.getInteger("perf.accounts", 3);
+    private final int transactions = Integer.getInteger("perf.transactions", 500);
+    private final int clients = Integer.getInteger("perf.clients", 16);
+    private final int requests = Integer.getInteger("perf.requests", 200);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private AccountService accountService;
+    @Autowired
+    private BudgetService budgetService;
+    @Autowired
+    private DebtService debtService;
+    @Autowired
+    private TransactionExportService transactionExportService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private BudgetRepository budgetRepository;
+    @Autowired
+    private DebtRepository debtRepository;
+    @Autowired
+    private RollupService rollupService;
+
+    private List<SyntheticDataGenerator.SeededUser> seeded;
+
+    @BeforeAll
+    void seed() {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(userRepository, accountRepository,
+                categoryRepository, transactionRepository, budgetRepository, debtRepository, rollupService, budgetService);
+        long start = System.nanoTime();
+        seeded = generator.seed(SEED, users, accounts, transactions);
+        System.out.printf("Seeded %d users x %d accounts x %d transactions in %d ms%n", users, accounts, transactions,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @Test
+    void endpointLatencies() throws Exception {
+        Map<String, Call> scenarios = new LinkedHashMap<>();
+        scenarios.put("GET /dashboard/summary", email ->
+                mockMvc.perform(get("/dashboard/summary").with(user(email))).andExpect(status().isOk()));
+        scenarios.put("transactions (first page)", email -> transactionService.getTransactionsByUserName(email, null, 20));
+        scenarios.put("accounts", accountService::getAccountsByUsername);
+        scenarios.put("budget usage", email -> budgetService.getBudgetUsage(email, EpochRange.ofMonth(YearMonth.now())));
+        scenarios.put("upcoming debts", email ->
+                debtService.getUpcomingDebts(email, LocalDate.now(), LocalDate.now().plusDays(30)));
+        scenarios.put("export (CSV)", email -> transactionExportService.export(email,
+                TransactionExportService.Format.CSV, null, null, null, OutputStream.nullOutputStream()));
+
+        System.out.printf("%-28s %10s %8s %8s %8s %8s %8s%n", "scenario", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "errors");
+        for (Map.Entry<String, Call> scenario : scenarios.entrySet()) {
+            run(scenario.getValue(), requests / 10);
+            Result result = run(scenario.getValue(), requests);
+            Histogram histogram = result.histogram();
+            System.out.printf("%-28s %10.1f %8.2f %8.2f %8.2f %8.2f %8d%n", scenario.getKey(),
+                    histogram.getTotalCount() * 1e9 / result.elapsedNanos(),
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)), millis(histogram.getMaxValue()), result.errors());
+        }
+    }
+
+    // Each client issues the given number of requests back to back, as a random seeded user
+    private Result run(Call call, int perClient) throws Exception {
+        Histogram histogram = new ConcurrentHistogram(TimeUnit.SECONDS.toNanos(60), 3);
+        List<Future<Integer>> futures = new ArrayList<>(clients);
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(clients)) {
+            for (int c = 0; c < clients; c++) {
+                futures.add(executor.submit(() -> {
+                    int errors = 0;
+                    for (int i = 0; i < perClient; i++) {
+                        String email = seeded.get(ThreadLocalRandom.current().nextInt(seeded.size())).email();
+                        long begin = System.nanoTime();
+                        try {
+                            call.invoke(email);
+                            histogram.recordValue(System.nanoTime() - begin);
+                        } catch (Throwable e) {
+                            errors++;
+                        }
+                    }
+                    return errors;
+                }));
+            }
+        }
+        int errors = 0;
+        for (Future<Integer> future : futures) {
+            errors += future.get();
+        }
+        return new Result(histogram, System.nanoTime() - start, errors);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        void invoke(String email) throws Exception;
+    }
+
+    private record Result(Histogram histogram, long elapsedNanos, int errors) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.personalfinance.repository;
+
+import com.example.personalfinance.support.CapturingStatementInspector;
+import com.example.personalfinance.util.EpochRange;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Needs the MySQL from application.properties (mvn -Pmysql test). EXPLAINs the SQL the repository methods
+// actually send, so an index regression in one of their queries shows up here.
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.example.personalfinance.support.CapturingStatementInspector")
+@EnabledIfSystemProperty(named = "mysql", matches = "true")
+class TransactionRepositoryExplainTests {
+    private static final Pattern TRANSACTIONS_ALIAS = Pattern.compile("from transactions (\\w+)");
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final EpochRange month = EpochRange.ofMonth(YearMonth.now());
+
+    @Test
+    void firstPageOnUserUsesUserDateIndex() {
+        String sql = captureOne(() -> transactionRepository.findFirstPageByUser(userRepository.getReferenceById(1),
+                Limit.of(20)));
+
+        // Bound in statement order: user, limit
+        Map<String, Object> plan = explainTransactions(sql, 1, 20);
+
+        assertThat((String) plan.get("possible_keys")).contains("idx_transactions_deleted_user_date");
+        assertThat(plan.get("type")).isNotEqualTo("ALL");
+    }
+
+    @Test
+    void categoryTotalsUseCategoryDateIndex() {
+        String sql = captureOne(() -> transactionRepository.getCategoryTotals(1, 1, month.from(), month.to()));
+
+        // Bound in statement order: user, category, from, to
+        Map<String, Object> plan = explainTransactions(sql, 1, 1, month.from(), month.to());
+
+        assertThat((String) plan.get("possible_keys")).contains("idx_transactions_deleted_user_category_date");
+        assertThat(plan.get("type")).isNotEqualTo("ALL");
+    }
+
+    private static String captureOne(Runnable call) {
+        List<String> sql = CapturingStatementInspector.capture(call);
+        assertThat(sql).hasSize(1);
+        return sql.get(0);
+    }
+
+    private Map<String, Object> explainTransactions(String sql, Object... args) {
+        Matcher alias = TRANSACTIONS_ALIAS.matcher(sql);
+        assertThat(alias.find()).as("transactions alias in %s", sql).isTrue();
+        return jdbcTemplate.queryForList("EXPLAIN " + sql, args).stream()
+                .filter(row -> alias.group(1).equals(row.get("table")))
+                .findFirst()
+                .orElseThrow();
+    }
+}
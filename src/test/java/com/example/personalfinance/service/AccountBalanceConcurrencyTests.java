@@ -0,0 +1,96 @@
+package com.example.personalfinance.service;
+
+import com.example.personalfinance.bean.request.TransactionRequest;
+import com.example.personalfinance.entity.Account;
+import com.example.personalfinance.entity.Category;
+import com.example.personalfinance.entity.User;
+import com.example.personalfinance.repository.AccountRepository;
+import com.example.personalfinance.repository.CategoryRepository;
+import com.example.personalfinance.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("embedded")
+class AccountBalanceConcurrencyTests {
+    private static final int THREADS = 16;
+    private static final int TRANSACTIONS_PER_THREAD = 25;
+    private static final double AMOUNT = 2.0;
+    private static final double OPENING_BALANCE = 1000.0;
+
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Test
+    void parallelAddTransactionAppliesEveryDelta() throws Exception {
+        User user = new User();
+        user.setEmail("concurrency-" + UUID.randomUUID() + "@example.com");
+        user.setFirstName("Concurrency");
+        user.setLastName("Test");
+        userRepository.save(user);
+
+        Category category = new Category();
+        category.setName("Groceries");
+        category.setType("expense");
+        category.setUserId(user);
+        categoryRepository.save(category);
+
+        Account account = new Account();
+        account.setName("Wallet");
+        account.setCurrentBalance(OPENING_BALANCE);
+        account.setPaymentTypes(List.of("Cash"));
+        account.setUser(user);
+        accountRepository.save(account);
+
+        TransactionRequest request = new TransactionRequest();
+        request.setAmount(AMOUNT);
+        request.setDescription("parallel expense");
+        request.setPaymentType("Cash");
+        request.setCategoryId(category.getCategoryId());
+        request.setAccountId(account.getAccountId());
+        request.setDateTime(System.currentTimeMillis());
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < TRANSACTIONS_PER_THREAD; j++) {
+                        transactionService.addTransaction(request, user.getEmail());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        double expected = OPENING_BALANCE - THREADS * TRANSACTIONS_PER_THREAD * AMOUNT;
+        Account reloaded = accountRepository.findById(account.getAccountId()).orElseThrow();
+        assertEquals(expected, reloaded.getCurrentBalance(), 0.0001);
+    }
+}
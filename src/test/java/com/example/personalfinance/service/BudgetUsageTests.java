@@ -0,0 +1,110 @@
+package com.example.personalfinance.service;
+
+import com.example.personalfinance.bean.response.BudgetUsage;
+import com.example.personalfinance.entity.Budget;
+import com.example.personalfinance.entity.Transaction;
+import com.example.personalfinance.entity.User;
+import com.example.personalfinance.repository.AccountRepository;
+import com.example.personalfinance.repository.BudgetRepository;
+import com.example.personalfinance.repository.CategoryRepository;
+import com.example.personalfinance.repository.DebtRepository;
+import com.example.personalfinance.repository.TransactionRepository;
+import com.example.personalfinance.repository.UserRepository;
+import com.example.personalfinance.support.SyntheticDataGenerator;
+import com.example.personalfinance.util.EpochRange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.YearMonth;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+@ActiveProfiles("embedded")
+class BudgetUsageTests {
+    @Autowired
+    private BudgetService budgetService;
+    @Autowired
+    private RollupService rollupService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private BudgetRepository budgetRepository;
+    @Autowired
+    private DebtRepository debtRepository;
+
+    private SyntheticDataGenerator.SeededUser user;
+
+    @BeforeEach
+    void seed() {
+        user = new SyntheticDataGenerator(userRepository, accountRepository, categoryRepository,
+                transactionRepository, budgetRepository, debtRepository, rollupService, budgetService)
+                .seed(11L, 1, 2, 150).get(0);
+    }
+
+    @Test
+    void rolloverMatchesTheMonthsExpenses() {
+        Budget budget = budgetRepository.findAllByUser(user.userId()).get(0);
+        budget.setUsed(12_345.0);
+        budget.setBalance(-1.0);
+        budgetRepository.save(budget);
+
+        budgetService.refreshCurrentPeriod();
+
+        Budget refreshed = budgetRepository.findById(budget.getBudgetId()).orElseThrow();
+        BudgetUsage usage = budgetService.getBudgetUsage(user.email(), EpochRange.ofMonth(YearMonth.now())).stream()
+                .filter(u -> u.getBudgetId().equals(budget.getBudgetId()))
+                .findFirst().orElseThrow();
+        assertThat(refreshed.getUsed()).isCloseTo(usage.getUsed(), within(0.001));
+        assertThat(refreshed.getBalance()).isCloseTo(refreshed.getAmount() - usage.getUsed(), within(0.001));
+    }
+
+    @Test
+    void recordAndReverseMoveUsageForCurrentMonthExpensesOnly() {
+        Budget budget = budgetRepository.findAllByUser(user.userId()).get(0);
+        double used = budget.getUsed();
+        User owner = userRepository.findById(user.userId()).orElseThrow();
+        Transaction expense = new Transaction(40, "test", "Cash", System.currentTimeMillis(), budget.getCategory(),
+                null, owner);
+
+        budgetService.recordExpense(expense);
+        assertThat(budgetRepository.findById(budget.getBudgetId()).orElseThrow().getUsed())
+                .isCloseTo(used + 40, within(0.001));
+
+        budgetService.reverseExpense(expense);
+        Budget reversed = budgetRepository.findById(budget.getBudgetId()).orElseThrow();
+        assertThat(reversed.getUsed()).isCloseTo(used, within(0.001));
+        assertThat(reversed.getBalance()).isCloseTo(reversed.getAmount() - used, within(0.001));
+
+        expense.setDateTime(YearMonth.now().minusMonths(1).atDay(1).atStartOfDay()
+                .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        budgetService.recordExpense(expense);
+        assertThat(budgetRepository.findById(budget.getBudgetId()).orElseThrow().getUsed())
+                .isCloseTo(used, within(0.001));
+    }
+
+    @Test
+    void changingTheAmountRecomputesBalanceFromStoredUsage() {
+        Budget stored = budgetRepository.findAllByUser(user.userId()).get(0);
+        Budget fromClient = budgetRepository.findById(stored.getBudgetId()).orElseThrow();
+        fromClient.setAmount(stored.getAmount() + 100);
+        fromClient.setUsed(0.0);
+        fromClient.setBalance(999_999.0);
+
+        Budget updated = budgetService.updateBudget(fromClient);
+
+        assertThat(updated.getUsed()).isCloseTo(stored.getUsed(), within(0.001));
+        assertThat(updated.getBalance()).isCloseTo(stored.getAmount() + 100 - stored.getUsed(), within(0.001));
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.personalfinance.service;
+
+import com.example.personalfinance.bean.response.CategoryDrillDown;
+import com.example.personalfinance.bean.response.CategoryTransactionRow;
+import com.example.personalfinance.entity.Category;
+import com.example.personalfinance.repository.AccountRepository;
+import com.example.personalfinance.repository.BudgetRepository;
+import com.example.personalfinance.repository.CategoryRepository;
+import com.example.personalfinance.repository.DebtRepository;
+import com.example.personalfinance.repository.TransactionRepository;
+import com.example.personalfinance.repository.UserRepository;
+import com.example.personalfinance.support.SyntheticDataGenerator;
+import com.example.personalfinance.util.EpochRange;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+@ActiveProfiles("embedded")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CategoryDrillDownTests {
+    private static final EpochRange LAST_YEAR = EpochRange.of(LocalDate.now().minusDays(366), LocalDate.now());
+
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private BudgetService budgetService;
+    @Autowired
+    private RollupService rollupService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private BudgetRepository budgetRepository;
+    @Autowired
+    private DebtRepository debtRepository;
+
+    private SyntheticDataGenerator.SeededUser owner;
+    private SyntheticDataGenerator.SeededUser other;
+    private Category food;
+
+    @BeforeAll
+    void seed() {
+        List<SyntheticDataGenerator.SeededUser> users = new SyntheticDataGenerator(userRepository, accountRepository,
+                categoryRepository, transactionRepository, budgetRepository, debtRepository, rollupService, budgetService)
+                .seed(21L, 2, 2, 400);
+        owner = users.get(0);
+        other = users.get(1);
+        food = categoryRepository.findAllByUserId(userRepository.findById(owner.userId()).orElseThrow()).stream()
+                .filter(category -> category.getName().equals("Food"))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void cursorPagesCoverTheFirstPageTotalsExactlyOnce() {
+        CategoryDrillDown first = categoryService.getCategoryDrillDown(owner.email(), food.getCategoryId(), LAST_YEAR, null, 7);
+        assertThat(first.categoryName()).isEqualTo("Food");
+        assertThat(first.totals().count()).isGreaterThan(7);
+
+        List<CategoryTransactionRow> rows = new ArrayList<>(first.transactions());
+        String cursor = first.nextCursor();
+        while (cursor != null) {
+            CategoryDrillDown page = categoryService.getCategoryDrillDown(owner.email(), food.getCategoryId(), LAST_YEAR, cursor, 7);
+            assertThat(page.totals()).isNull();
+            assertThat(page.transactions()).hasSizeLessThanOrEqualTo(7);
+            rows.addAll(page.transactions());
+            cursor = page.nextCursor();
+        }
+
+        assertThat(rows).hasSize((int) first.totals().count());
+        assertThat(rows).extracting(CategoryTransactionRow::id).doesNotHaveDuplicates();
+        assertThat(rows).isSortedAccordingTo(Comparator.comparing(CategoryTransactionRow::dateTime)
+                .thenComparing(CategoryTransactionRow::id).reversed());
+        assertThat(rows.stream().mapToDouble(CategoryTransactionRow::amount).sum()).isCloseTo(first.totals().sum(), within(0.01));
+        assertThat(rows.get(0).dateTime()).isEqualTo(first.totals().lastDateTime());
+        assertThat(rows.get(rows.size() - 1).dateTime()).isEqualTo(first.totals().firstDateTime());
+    }
+
+    @Test
+    void anotherUsersCategoryLooksMissing() {
+        assertThatThrownBy(() -> categoryService.getCategoryDrillDown(other.email(), food.getCategoryId(), LAST_YEAR, null, 7))
+                .isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        assertThatThrownBy(() -> categoryService.getCategoryDrillDown(owner.email(), food.getCategoryId(), LAST_YEAR, "%%%", 7))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.personalfinance.service;
+
+import com.example.personalfinance.bean.response.CategoryTotal;
+import com.example.personalfinance.bean.response.DashboardSummary;
+import com.example.personalfinance.repository.AccountRepository;
+import com.example.personalfinance.repository.BudgetRepository;
+import com.example.personalfinance.repository.CategoryRepository;
+import com.example.personalfinance.repository.DebtRepository;
+import com.example.personalfinance.repository.TransactionRepository;
+import com.example.personalfinance.repository.UserRepository;
+import com.example.personalfinance.support.SyntheticDataGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.YearMonth;
+import java.time.format.TextStyle;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+@ActiveProfiles("embedded")
+class DashboardSummaryTests {
+    @Autowired
+    private DashboardService dashboardService;
+    @Autowired
+    private BudgetService budgetService;
+    @Autowired
+    private RollupService rollupService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private BudgetRepository budgetRepository;
+    @Autowired
+    private DebtRepository debtRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void summaryMatchesTheIndividualDashboardReads() {
+        String email = new SyntheticDataGenerator(userRepository, accountRepository, categoryRepository,
+                transactionRepository, budgetRepository, debtRepository, rollupService, budgetService)
+                .seed(16L, 1, 2, 300).get(0).email();
+
+        DashboardSummary summary = dashboardService.getSummary(email);
+
+        assertThat(summary.monthlyData()).isEqualTo(dashboardService.getMonthlyData(email)).hasSize(6);
+        assertThat(summary.monthlyData().get(0).month())
+                .isEqualTo(YearMonth.now().getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH));
+        assertThat(summary.thisMonthExpenses()).isEqualTo(dashboardService.getThisMonthExpenses(email));
+        assertThat(summary.thisMonthIncome()).isEqualTo(dashboardService.getThisMonthIncome(email));
+        assertThat(summary.thisMonthTotals()).isEqualTo(dashboardService.getThisMonthTotalIncomeAndExpenses(email));
+        assertThat(summary.thisMonthTotals().totalExpenses()).isCloseTo(
+                summary.thisMonthExpenses().stream().mapToDouble(CategoryTotal::amount).sum(), within(0.01));
+        assertThat(summary.thisMonthTotals().totalExpenses()).isCloseTo(summary.monthlyData().get(0).expenses(), within(0.01));
+    }
+
+    @Test
+    void totalsAndBreakdownsSkipTheSameDeletedCategories() {
+        SyntheticDataGenerator.SeededUser user = new SyntheticDataGenerator(userRepository, accountRepository,
+                categoryRepository, transactionRepository, budgetRepository, debtRepository, rollupService, budgetService)
+                .seed(17L, 1, 2, 300).get(0);
+        CategoryTotal largest = dashboardService.getThisMonthExpenses(user.email()).get(0);
+        jdbcTemplate.update("UPDATE categories SET deleted = true WHERE user_id = ? AND category_name = ?",
+                user.userId(), largest.category());
+        rollupService.rebuild(user.userId());
+
+        DashboardSummary summary = dashboardService.getSummary(user.email());
+
+        assertThat(summary.thisMonthExpenses()).extracting(CategoryTotal::category).doesNotContain(largest.category());
+        assertThat(summary.thisMonthTotals().totalExpenses()).isCloseTo(
+                summary.thisMonthExpenses().stream().mapToDouble(CategoryTotal::amount).sum(), within(0.01));
+        assertThat(summary.monthlyData().get(0).expenses()).isCloseTo(summary.thisMonthTotals().totalExpenses(), within(0.01));
+    }
+}
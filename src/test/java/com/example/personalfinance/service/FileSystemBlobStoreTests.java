@@ -0,0 +1,46 @@
+package com.example.personalfinance.service;
+
+import com.example.personalfinance.service.impl.FileSystemBlobStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileSystemBlobStoreTests {
+    @TempDir
+    Path root;
+
+    @Test
+    void contentIsAddressedBySha256AndStoredOnce() throws Exception {
+        FileSystemBlobStore store = new FileSystemBlobStore(root.toString());
+        byte[] content = "profile image".getBytes(StandardCharsets.UTF_8);
+        String expected = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+
+        String first = store.put(new ByteArrayInputStream(content));
+        String second = store.put(new ByteArrayInputStream(content));
+
+        assertThat(first).isEqualTo(expected).isEqualTo(second);
+        Path blob = store.resolve(first).orElseThrow();
+        assertThat(blob).isEqualTo(root.resolve(expected.substring(0, 2)).resolve(expected.substring(2, 4)).resolve(expected));
+        assertThat(Files.readAllBytes(blob)).isEqualTo(content);
+        try (Stream<Path> files = Files.walk(root)) {
+            assertThat(files.filter(Files::isRegularFile)).containsExactly(blob);
+        }
+    }
+
+    @Test
+    void onlyWellFormedStoredHashesResolve() throws Exception {
+        FileSystemBlobStore store = new FileSystemBlobStore(root.toString());
+        assertThat(store.resolve("0".repeat(64))).isEmpty();
+        assertThat(store.resolve("../../etc/passwd")).isEmpty();
+        assertThat(store.resolve(null)).isEmpty();
+    }
+}
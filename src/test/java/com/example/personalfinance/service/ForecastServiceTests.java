@@ -0,0 +1,222 @@
+package com.example.personalfinance.service;
+
+import com.example.personalfinance.bean.request.TransactionRequest;
+import com.example.personalfinance.bean.response.AccountForecast;
+import com.example.personalfinance.bean.response.ForecastEntry;
+import com.example.personalfinance.entity.Account;
+import com.example.personalfinance.entity.Category;
+import com.example.personalfinance.entity.ForecastRebuild;
+import com.example.personalfinance.entity.RecurringSeries;
+import com.example.personalfinance.entity.User;
+import com.example.personalfinance.repository.AccountRepository;
+import com.example.personalfinance.repository.BudgetRepository;
+import com.example.personalfinance.repository.CategoryRepository;
+import com.example.personalfinance.repository.DebtRepository;
+import com.example.personalfinance.repository.RecurringSeriesRepository;
+import com.example.personalfinance.repository.TransactionRepository;
+import com.example.personalfinance.repository.UserRepository;
+import com.example.personalfinance.support.SyntheticDataGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+// Each test seeds a user whose account has no history, so the gym series is the only one it has. The rebuild
+// job is off in the embedded profile; tests drain its queue through refold().
+@SpringBootTest
+@ActiveProfiles("embedded")
+class ForecastServiceTests {
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    // A daylight saving change inside the span shifts one interval by an hour
+    private static final double HOUR_MILLIS = 60 * 60 * 1000;
+    private static final double FEE = 40.0;
+
+    @Autowired
+    private ForecastService forecastService;
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private BudgetService budgetService;
+    @Autowired
+    private RollupService rollupService;
+    @Autowired
+    private TransactionTierService transactionTierService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private BudgetRepository budgetRepository;
+    @Autowired
+    private DebtRepository debtRepository;
+    @Autowired
+    private RecurringSeriesRepository recurringSeriesRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String email;
+    private Account account;
+    private Category category;
+
+    @BeforeEach
+    void seed() {
+        SyntheticDataGenerator.SeededUser seeded = new SyntheticDataGenerator(userRepository, accountRepository,
+                categoryRepository, transactionRepository, budgetRepository, debtRepository, rollupService, budgetService)
+                .seed(25L, 1, 1, 0).get(0);
+        email = seeded.email();
+        User user = userRepository.findById(seeded.userId()).orElseThrow();
+        account = accountRepository.findAllByUser(user).get(0);
+        category = categoryRepository.findAllByUserId(user).stream()
+                .filter(c -> c.getName().equals("Health"))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void entriesInDateOrderAreAppendedToOneSeries() {
+        for (int monthsAgo = 3; monthsAgo >= 0; monthsAgo--) {
+            add(FEE, daysAgo(30 * monthsAgo));
+        }
+
+        RecurringSeries series = onlySeries();
+        assertThat(series.getOccurrences()).isEqualTo(4);
+        assertThat(series.getMeanAmount()).isEqualTo(FEE);
+        assertThat(series.getMeanIntervalMillis()).isCloseTo(30.0 * DAY_MILLIS, within(HOUR_MILLIS));
+        assertThat(series.getLastDateTime()).isEqualTo(daysAgo(0));
+    }
+
+    @Test
+    void backDatedEntryRefoldsTheAccount() {
+        add(FEE, daysAgo(60));
+        add(FEE, daysAgo(0));
+        Long before = onlySeries().getId();
+
+        add(FEE, daysAgo(30));
+        assertThat(onlySeries().getId()).isEqualTo(before);
+        refold();
+
+        RecurringSeries series = onlySeries();
+        assertThat(series.getId()).isNotEqualTo(before);
+        assertThat(series.getOccurrences()).isEqualTo(3);
+        assertThat(series.getMeanIntervalMillis()).isCloseTo(30.0 * DAY_MILLIS, within(HOUR_MILLIS));
+        assertThat(series.isRecurring(3, 0.25)).isTrue();
+        assertThat(series.getLastDateTime()).isEqualTo(daysAgo(0));
+    }
+
+    @Test
+    void updatesAndDeletesRefoldTheSeries() {
+        for (int monthsAgo = 3; monthsAgo >= 0; monthsAgo--) {
+            add(FEE, daysAgo(30 * monthsAgo));
+        }
+        List<Integer> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM transactions WHERE account_account_id = ? ORDER BY date_time", Integer.class,
+                account.getAccountId());
+
+        // Ten times the fee falls outside the amount band, so that row leaves the series for one of its own
+        transactionService.updateTransaction(request(FEE * 10, daysAgo(60)), ids.get(1), email);
+        // The edit only queues the refold
+        assertThat(onlySeries().getOccurrences()).isEqualTo(4);
+        refold();
+        assertThat(recurringSeriesRepository.findAllByAccountId(account.getAccountId()))
+                .extracting(RecurringSeries::getOccurrences)
+                .containsExactlyInAnyOrder(3, 1);
+
+        transactionService.deleteTransaction(ids.get(1));
+        refold();
+        assertThat(onlySeries().getOccurrences()).isEqualTo(3);
+        transactionService.deleteTransaction(ids.get(3));
+        refold();
+        RecurringSeries series = onlySeries();
+        assertThat(series.getOccurrences()).isEqualTo(2);
+        assertThat(series.getLastDateTime()).isEqualTo(daysAgo(30));
+    }
+
+    @Test
+    void rebuildFoldsBothTiersInDateOrder() {
+        for (int days = 480; days >= 390; days -= 30) {
+            add(FEE, daysAgo(days));
+        }
+        List<Integer> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM transactions WHERE account_account_id = ? ORDER BY date_time", Integer.class,
+                account.getAccountId());
+        ids.forEach(id -> assertThat(transactionTierService.freeze(id)).isTrue());
+        // A thawed row is live again, yet older than two of the cold ones
+        assertThat(transactionTierService.thaw(ids.get(1))).isTrue();
+
+        forecastService.rebuild(account.getAccountId());
+
+        RecurringSeries series = onlySeries();
+        assertThat(series.getOccurrences()).isEqualTo(4);
+        assertThat(series.getMeanIntervalMillis()).isCloseTo(30.0 * DAY_MILLIS, within(HOUR_MILLIS));
+        assertThat(series.isRecurring(4, 0.25)).isTrue();
+        assertThat(series.getLastDateTime()).isEqualTo(daysAgo(390));
+    }
+
+    @Test
+    void forecastProjectsFromTheCurrentBalance() {
+        for (int monthsAgo = 3; monthsAgo >= 0; monthsAgo--) {
+            add(FEE, daysAgo(30 * monthsAgo));
+        }
+        double currentBalance = accountRepository.findById(account.getAccountId()).orElseThrow().getCurrentBalance();
+
+        AccountForecast forecast = forecastService.forecast(email, account.getAccountId(), 70);
+
+        assertThat(forecast.currentBalance()).isEqualTo(currentBalance);
+        assertThat(forecast.entries()).extracting(ForecastEntry::date)
+                .containsExactly(LocalDate.now().plusDays(30), LocalDate.now().plusDays(60));
+        assertThat(forecast.entries()).allSatisfy(entry -> {
+            assertThat(entry.description()).isEqualTo("Gym membership");
+            assertThat(entry.amount()).isEqualTo(-FEE);
+        });
+        assertThat(forecast.balances()).hasSize(71);
+        assertThat(forecast.balances().get(0).balance()).isEqualTo(currentBalance);
+        assertThat(forecast.balances().get(30).balance()).isCloseTo(currentBalance - FEE, within(1e-6));
+        assertThat(forecast.balances().get(70).balance()).isCloseTo(currentBalance - 2 * FEE, within(1e-6));
+    }
+
+    private void refold() {
+        for (ForecastRebuild request : forecastService.findRequestedRebuilds(0, 100)) {
+            forecastService.rebuildRequested(request);
+        }
+        assertThat(forecastService.findRequestedRebuilds(0, 100)).isEmpty();
+    }
+
+    private RecurringSeries onlySeries() {
+        List<RecurringSeries> series = recurringSeriesRepository.findAllByAccountId(account.getAccountId());
+        assertThat(series).hasSize(1);
+        return series.get(0);
+    }
+
+    private void add(double amount, long dateTime) {
+        transactionService.addTransaction(request(amount, dateTime), email);
+    }
+
+    private TransactionRequest request(double amount, long dateTime) {
+        TransactionRequest request = new TransactionRequest();
+        request.setAmount(amount);
+        request.setDescription("Gym membership");
+        request.setPaymentType("Debit Card");
+        request.setCategoryId(category.getCategoryId());
+        request.setAccountId(account.getAccountId());
+        request.setDateTime(dateTime);
+        return request;
+    }
+
+    // Noon, so an hour of daylight saving drift never moves a date across midnight
+    private static long daysAgo(int days) {
+        return LocalDate.now().minusDays(days).atTime(12, 0).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.personalfinance.service;
+
+import com.example.personalfinance.bean.UserIdentity;
+import com.example.personalfinance.bean.request.ProfileImg;
+import com.example.personalfinance.repository.UserRepository;
+import com.example.personalfinance.service.impl.ProfileImageServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.InputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ProfileImageServiceTests {
+    private static final int MAX_IMAGE_SIZE = 1048576;
+
+    private final BlobStore blobStore = mock(BlobStore.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserIdentityService userIdentityService = mock(UserIdentityService.class);
+    private final ProfileImageService service = new ProfileImageServiceImpl(blobStore, userRepository, userIdentityService);
+
+    @Test
+    void imagesUpToOneMegabyteAreStoredAndLinked() throws Exception {
+        when(blobStore.put(any(InputStream.class))).thenReturn("a".repeat(64));
+        when(userIdentityService.findByEmail("user@example.com"))
+                .thenReturn(new UserIdentity(5, "user@example.com", "First", "Last"));
+
+        String hash = service.updateProfileImage(image(MAX_IMAGE_SIZE), "user@example.com");
+
+        assertThat(hash).isEqualTo("a".repeat(64));
+        verify(userRepository).updateProfileImageHash(5, hash);
+    }
+
+    @Test
+    void largerImagesAreRejectedBeforeStoring() {
+        assertThatThrownBy(() -> service.updateProfileImage(image(MAX_IMAGE_SIZE + 1), "user@example.com"))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(blobStore, userRepository);
+    }
+
+    private static ProfileImg image(int size) {
+        ProfileImg profileImg = new ProfileImg();
+        profileImg.setImage(new MockMultipartFile("image", "avatar.png", "image/png", new byte[size]));
+        return profileImg;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.personalfinance.service;
+
+import com.example.personalfinance.entity.Category;
+import com.example.personalfinance.entity.Transaction;
+import com.example.personalfinance.entity.User;
+import com.example.personalfinance.repository.MonthlyRollupRepository;
+import com.example.personalfinance.service.impl.RollupServiceImpl;
+import com.example.personalfinance.util.EpochRange;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class RollupServiceTests {
+    private final MonthlyRollupRepository repository = mock(MonthlyRollupRepository.class);
+    private final RollupService rollupService = new RollupServiceImpl(repository);
+
+    @Test
+    void recordAddsToTheTransactionsMonthAndSide() {
+        rollupService.record(transaction("income", 250));
+        verify(repository).applyDelta(7, 202403, 3, 250.0, 0.0, 1);
+
+        rollupService.record(transaction("expense", 40));
+        verify(repository).applyDelta(7, 202403, 3, 0.0, 40.0, 1);
+    }
+
+    @Test
+    void reverseSubtractsWhatRecordAdded() {
+        rollupService.reverse(transaction("expense", 40));
+        verify(repository).applyDelta(7, 202403, 3, 0.0, -40.0, -1);
+    }
+
+    @Test
+    void uncategorisedTransactionsAreNotRolledUp() {
+        Transaction transaction = transaction("expense", 40);
+        transaction.setCategory(null);
+        rollupService.record(transaction);
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void rebuildReplacesTheUsersRowsMonthByMonthInTheJvmZone() {
+        ZoneId zone = ZoneId.systemDefault();
+        long first = LocalDate.of(2024, 2, 29).atTime(23, 30).atZone(zone).toInstant().toEpochMilli();
+        long last = LocalDate.of(2024, 4, 1).atTime(0, 10).atZone(zone).toInstant().toEpochMilli();
+        when(repository.findDateTimeBounds(7)).thenReturn(List.<Object[]>of(new Object[]{first, last}));
+
+        rollupService.rebuild(7);
+
+        InOrder order = inOrder(repository);
+        order.verify(repository).deleteByUserId(7);
+        for (YearMonth month = YearMonth.of(2024, 2); !month.isAfter(YearMonth.of(2024, 4)); month = month.plusMonths(1)) {
+            EpochRange range = EpochRange.ofMonth(month);
+            order.verify(repository).rebuildMonth(7, rollupService.periodOf(month), range.from(), range.to());
+        }
+        verify(repository, times(3)).rebuildMonth(eq(7), anyInt(), anyLong(), anyLong());
+    }
+
+    @Test
+    void rebuildOfAUserWithoutTransactionsOnlyClears() {
+        when(repository.findDateTimeBounds(7)).thenReturn(List.<Object[]>of(new Object[]{null, null}));
+
+        rollupService.rebuild(7);
+
+        verify(repository).deleteByUserId(7);
+        verify(repository, never()).rebuildMonth(anyInt(), anyInt(), anyLong(), anyLong());
+    }
+
+    private static Transaction transaction(String type, double amount) {
+        User user = new User();
+        user.setUserId(7);
+        Category category = new Category();
+        category.setCategoryId(3);
+        category.setType(type);
+        long dateTime = LocalDate.of(2024, 3, 15).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return new Transaction(amount, "test", "Cash", dateTime, category, null, user);
+    }
+}
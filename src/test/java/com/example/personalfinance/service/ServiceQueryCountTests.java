@@ -0,0 +1,78 @@
+package com.example.personalfinance.service;
+
+import com.example.personalfinance.repository.AccountRepository;
+import com.example.personalfinance.repository.BudgetRepository;
+import com.example.personalfinance.repository.CategoryRepository;
+import com.example.personalfinance.repository.DebtRepository;
+import com.example.personalfinance.repository.TransactionRepository;
+import com.example.personalfinance.repository.UserRepository;
+import com.example.personalfinance.support.SyntheticDataGenerator;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static com.example.personalfinance.support.QueryCountAssertions.assertMaxQueries;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Guards against N+1 regressions on the read paths: statement counts must not grow with data size
+@SpringBootTest(properties = "sql.accounting.enabled=true")
+@ActiveProfiles("embedded")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ServiceQueryCountTests {
+    @Autowired
+    private AccountService accountService;
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private DashboardService dashboardService;
+    @Autowired
+    private UserIdentityService userIdentityService;
+    @Autowired
+    private BudgetService budgetService;
+    @Autowired
+    private RollupService rollupService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private BudgetRepository budgetRepository;
+    @Autowired
+    private DebtRepository debtRepository;
+
+    private String email;
+
+    @BeforeAll
+    void seed() {
+        email = new SyntheticDataGenerator(userRepository, accountRepository, categoryRepository,
+                transactionRepository, budgetRepository, debtRepository, rollupService, budgetService)
+                .seed(1L, 1, 4, 200).get(0).email();
+        // Identity lookups are cached; the counts below are for a warm cache
+        userIdentityService.findByEmail(email);
+    }
+
+    @Test
+    void accountSummariesUseOneQueryPerTier() {
+        assertThat(assertMaxQueries(2, () -> accountService.getAccountsByUsername(email))).hasSize(4);
+    }
+
+    // The live page query plus the eager load of its owner; this seed's first page stays above the tiering
+    // horizon, so the cold tier is not read
+    @Test
+    void firstTransactionPageUsesTwoQueries() {
+        assertThat(assertMaxQueries(2, () -> transactionService.getTransactionsByUserName(email, null, 20))
+                .getTransactions()).hasSize(20);
+    }
+
+    @Test
+    void dashboardSummaryUsesOneQueryPerPart() {
+        assertMaxQueries(4, () -> dashboardService.getSummary(email));
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.personalfinance.service;
+
+import com.example.personalfinance.entity.Account;
+import com.example.personalfinance.entity.Category;
+import com.example.personalfinance.entity.User;
+import com.example.personalfinance.repository.AccountRepository;
+import com.example.personalfinance.repository.CategoryRepository;
+import com.example.personalfinance.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// mvn test -Dtest=TransactionExportHeapTests -Dbenchmark=true
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TransactionExportHeapTests {
+    private static final int ROWS = 1_000_000;
+    private static final int BATCH = 5_000;
+    private static final long MAX_HEAP_GROWTH = 64L * 1024 * 1024;
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void heapStaysFlatWhileExportingOneMillionRows() throws Exception {
+        User user = seed();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        List<Long> samples = new ArrayList<>();
+
+        // Samples the live heap (after a GC) each time another tenth of the expected output has been written
+        OutputStream sink = new OutputStream() {
+            private long written;
+            private long nextSample;
+
+            @Override
+            public void write(int b) {
+                count(1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                count(len);
+            }
+
+            private void count(int len) {
+                written += len;
+                if (written >= nextSample) {
+                    System.gc();
+                    samples.add(memory.getHeapMemoryUsage().getUsed());
+                    nextSample += ROWS * 8L;
+                }
+            }
+        };
+
+        transactionExportService.export(user.getEmail(), TransactionExportService.Format.CSV, null, null, null, sink);
+
+        assertThat(samples).hasSizeGreaterThan(5);
+        long baseline = samples.get(1);
+        assertThat(samples.stream().mapToLong(Long::longValue).max().orElseThrow() - baseline)
+                .isLessThan(MAX_HEAP_GROWTH);
+    }
+
+    private User seed() {
+        User user = new User();
+        user.setEmail("export-" + UUID.randomUUID() + "@example.com");
+        userRepository.save(user);
+
+        Category category = new Category();
+        category.setName("Exported");
+        category.setType("expense");
+        category.setUserId(user);
+        categoryRepository.save(category);
+
+        Account account = new Account();
+        account.setName("Bank");
+        account.setPaymentTypes(List.of("Cash"));
+        account.setUser(user);
+        accountRepository.save(account);
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long firstDay = System.currentTimeMillis() - ROWS * 60_000L;
+        List<Object[]> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < ROWS; i++) {
+            batch.add(new Object[]{1.0, "Exported row " + i, "Cash", firstDay + i * 60_000L,
+                    category.getCategoryId(), account.getAccountId(), user.getUserId(), now, now});
+            if (batch.size() == BATCH) {
+                insert(batch);
+                batch.clear();
+            }
+        }
+        insert(batch);
+        return user;
+    }
+
+    private void insert(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("INSERT INTO transactions (amount, description, payment_type, date_time, " +
+                "category_category_id, account_account_id, user_id, deleted, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, false, ?, ?)", batch);
+    }
+}
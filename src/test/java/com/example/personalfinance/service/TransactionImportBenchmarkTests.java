@@ -0,0 +1,95 @@
+package com.example.personalfinance.service;
+
+import com.example.personalfinance.bean.response.ImportResult;
+import com.example.personalfinance.entity.Account;
+import com.example.personalfinance.entity.Category;
+import com.example.personalfinance.entity.User;
+import com.example.personalfinance.repository.AccountRepository;
+import com.example.personalfinance.repository.CategoryRepository;
+import com.example.personalfinance.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// mvn test -Dtest=TransactionImportBenchmarkTests -Dbenchmark=true
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TransactionImportBenchmarkTests {
+    private static final int ROWS = 100_000;
+
+    @Autowired
+    private TransactionImportService transactionImportService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Test
+    void importsOneHundredThousandRows() throws Exception {
+        User user = new User();
+        user.setEmail("import-" + UUID.randomUUID() + "@example.com");
+        userRepository.save(user);
+
+        Category category = new Category();
+        category.setName("Imported");
+        category.setType("expense");
+        category.setUserId(user);
+        categoryRepository.save(category);
+
+        Account account = new Account();
+        account.setName("Bank");
+        account.setCurrentBalance(0);
+        account.setPaymentTypes(List.of("Bank Transfer"));
+        account.setUser(user);
+        accountRepository.save(account);
+
+        long start = System.nanoTime();
+        ImportResult result;
+        try (InputStream csv = generateCsv(category.getCategoryId(), account.getAccountId())) {
+            result = transactionImportService.importCsv(csv, user.getEmail());
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("Imported %d rows in %d ms (%.0f rows/s)%n",
+                result.getImported(), elapsedMillis, result.getImported() * 1000.0 / Math.max(elapsedMillis, 1));
+
+        assertEquals(ROWS, result.getImported());
+        assertEquals(-ROWS, accountRepository.findById(account.getAccountId()).orElseThrow().getCurrentBalance(), 0.0001);
+    }
+
+    // Rows are produced lazily so the benchmark input is never held in memory either
+    private InputStream generateCsv(int categoryId, int accountId) {
+        long firstDay = System.currentTimeMillis() - ROWS * 60_000L;
+        Enumeration<InputStream> lines = new Enumeration<>() {
+            private int row = -1;
+
+            @Override
+            public boolean hasMoreElements() {
+                return row < ROWS;
+            }
+
+            @Override
+            public InputStream nextElement() {
+                String line = row < 0
+                        ? "date_time,amount,description,payment_type,category_id,account_id\n"
+                        : (firstDay + row * 60_000L) + ",1.00,\"Card payment " + row + "\",Bank Transfer,"
+                        + categoryId + "," + accountId + "\n";
+                row++;
+                return new ByteArrayInputStream(line.getBytes(StandardCharsets.UTF_8));
+            }
+        };
+        return new SequenceInputStream(lines);
+    }
+}
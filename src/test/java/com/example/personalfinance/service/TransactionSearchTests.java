@@ -0,0 +1,161 @@
+package com.example.personalfinance.service;
+
+import com.example.personalfinance.bean.request.TransactionRequest;
+import com.example.personalfinance.bean.response.ImportResult;
+import com.example.personalfinance.bean.response.TransactionSearchHit;
+import com.example.personalfinance.bean.response.TransactionSearchPage;
+import com.example.personalfinance.entity.Account;
+import com.example.personalfinance.entity.Category;
+import com.example.personalfinance.entity.User;
+import com.example.personalfinance.repository.AccountRepository;
+import com.example.personalfinance.repository.BudgetRepository;
+import com.example.personalfinance.repository.CategoryRepository;
+import com.example.personalfinance.repository.DebtRepository;
+import com.example.personalfinance.repository.TransactionRepository;
+import com.example.personalfinance.repository.UserRepository;
+import com.example.personalfinance.support.SyntheticDataGenerator;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("embedded")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransactionSearchTests {
+    @Autowired
+    private TransactionSearchService transactionSearchService;
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private TransactionImportService transactionImportService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private BudgetService budgetService;
+    @Autowired
+    private RollupService rollupService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private BudgetRepository budgetRepository;
+    @Autowired
+    private DebtRepository debtRepository;
+
+    private String email;
+    private Account account;
+    private Category category;
+
+    @BeforeAll
+    void seed() {
+        SyntheticDataGenerator.SeededUser user = new SyntheticDataGenerator(userRepository, accountRepository,
+                categoryRepository, transactionRepository, budgetRepository, debtRepository, rollupService, budgetService)
+                .seed(7L, 1, 2, 300).get(0);
+        email = user.email();
+        User owner = userRepository.findById(user.userId()).orElseThrow();
+        account = accountRepository.findAllByUser(owner).get(0);
+        category = categoryRepository.findAllByUserId(owner).get(0);
+        // The generator saves through the repository, so the index is built from the table
+        transactionSearchService.rebuild(user.userId());
+    }
+
+    @Test
+    void wholeWordsOutrankPrefixesAndSubstrings() {
+        assertThat(transactionSearchService.search(email, "food", null, null, null, null, 0, 5).hits())
+                .isNotEmpty()
+                .allSatisfy(hit -> assertThat(hit.score()).isEqualTo(3));
+        assertThat(transactionSearchService.search(email, "subscr", null, null, null, null, 0, 5).hits())
+                .isNotEmpty()
+                .allSatisfy(hit -> {
+                    assertThat(hit.score()).isEqualTo(2);
+                    assertThat(hit.description()).isEqualTo("Subscriptions payment");
+                });
+        assertThat(transactionSearchService.search(email, "ood", null, null, null, null, 0, 5).hits())
+                .isNotEmpty()
+                .allSatisfy(hit -> {
+                    assertThat(hit.score()).isEqualTo(1);
+                    assertThat(hit.description()).isEqualTo("Food payment");
+                });
+    }
+
+    @Test
+    void everyWordAndFilterMustMatch() {
+        TransactionSearchPage page = transactionSearchService.search(email, "food pay", null, null, 10.0, 50.0, 0, 10);
+        assertThat(page.hits()).isNotEmpty().allSatisfy(hit -> {
+            assertThat(hit.description()).isEqualTo("Food payment");
+            assertThat(hit.amount()).isBetween(10.0, 50.0);
+        });
+        assertThat(transactionSearchService.search(email, "food rent", null, null, null, null, 0, 10).hits()).isEmpty();
+    }
+
+    @Test
+    void pagesDoNotOverlap() {
+        TransactionSearchPage first = transactionSearchService.search(email, "payment", null, null, null, null, 0, 20);
+        TransactionSearchPage second = transactionSearchService.search(email, "payment", null, null, null, null, 1, 20);
+        assertThat(first.hasMore()).isTrue();
+        assertThat(second.hits()).extracting(TransactionSearchHit::id)
+                .doesNotContainAnyElementsOf(first.hits().stream().map(TransactionSearchHit::id).toList());
+    }
+
+    @Test
+    void addUpdateAndDeleteKeepTheIndexInStep() {
+        transactionService.addTransaction(request("Zanzibar ferry"), email);
+        List<TransactionSearchHit> added = hits("zanzib");
+        assertThat(added).hasSize(1);
+        int id = added.get(0).id();
+
+        transactionService.updateTransaction(request("Quokka sanctuary"), id, email);
+        assertThat(hits("zanzibar")).isEmpty();
+        assertThat(hits("quokka")).extracting(TransactionSearchHit::id).containsExactly(id);
+
+        transactionService.deleteTransaction(id);
+        assertThat(hits("quokka")).isEmpty();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transaction_search_terms WHERE transaction_id = ?", Integer.class, id)).isZero();
+    }
+
+    @Test
+    void importedRowsAreIndexed() throws Exception {
+        String csv = "date_time,amount,description,payment_type,category_id,account_id\n" +
+                LocalDate.now() + ",12.5,Xylophone lessons,Cash," + category.getCategoryId() + "," + account.getAccountId() + "\n" +
+                LocalDate.now() + ",8,Xylophone mallets,Cash," + category.getCategoryId() + "," + account.getAccountId() + "\n";
+        ImportResult result = transactionImportService.importCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), email);
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(hits("xyloph")).extracting(TransactionSearchHit::description)
+                .containsExactlyInAnyOrder("Xylophone lessons", "Xylophone mallets");
+        assertThat(hits("mallets")).extracting(TransactionSearchHit::description).containsExactly("Xylophone mallets");
+    }
+
+    private List<TransactionSearchHit> hits(String query) {
+        return transactionSearchService.search(email, query, null, null, null, null, 0, 10).hits();
+    }
+
+    private TransactionRequest request(String description) {
+        TransactionRequest request = new TransactionRequest();
+        request.setAmount(20.0);
+        request.setDescription(description);
+        request.setPaymentType("Cash");
+        request.setCategoryId(category.getCategoryId());
+        request.setAccountId(account.getAccountId());
+        request.setDateTime(System.currentTimeMillis());
+        return request;
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.personalfinance.service;
+
+import com.example.personalfinance.bean.request.TransactionRequest;
+import com.example.personalfinance.bean.response.CategoryDrillDown;
+import com.example.personalfinance.bean.response.TransactionPage;
+import com.example.personalfinance.entity.Account;
+import com.example.personalfinance.entity.Category;
+import com.example.personalfinance.entity.Transaction;
+import com.example.personalfinance.entity.User;
+import com.example.personalfinance.repository.AccountRepository;
+import com.example.personalfinance.repository.BudgetRepository;
+import com.example.personalfinance.repository.CategoryRepository;
+import com.example.personalfinance.repository.DebtRepository;
+import com.example.personalfinance.repository.TransactionRepository;
+import com.example.personalfinance.repository.UserRepository;
+import com.example.personalfinance.support.SyntheticDataGenerator;
+import com.example.personalfinance.util.EpochRange;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// A short horizon so roughly half of the seeded year ends up in transactions_cold
+@SpringBootTest(properties = "transaction.tiering.horizon-months=3")
+@ActiveProfiles("embedded")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransactionTieringTests {
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private TransactionTierService transactionTierService;
+    @Autowired
+    private TransactionExportService transactionExportService;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private BudgetService budgetService;
+    @Autowired
+    private RollupService rollupService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private BudgetRepository budgetRepository;
+    @Autowired
+    private DebtRepository debtRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private SyntheticDataGenerator.SeededUser owner;
+    private User user;
+
+    @BeforeAll
+    void seedAndTier() {
+        owner = new SyntheticDataGenerator(userRepository, accountRepository, categoryRepository,
+                transactionRepository, budgetRepository, debtRepository, rollupService, budgetService)
+                .seed(23L, 1, 2, 150).get(0);
+        user = userRepository.findById(owner.userId()).orElseThrow();
+        while (transactionTierService.moveBatch(40) > 0) {
+        }
+    }
+
+    @Test
+    void moverLeavesOnlyRowsPastTheHorizonInTheColdTier() {
+        assertThat(coldIds()).isNotEmpty();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transactions WHERE user_id = ? AND deleted = false AND date_time < ?",
+                Long.class, owner.userId(), transactionTierService.coldHorizon())).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transactions_cold WHERE user_id = ? AND date_time >= ?",
+                Long.class, owner.userId(), transactionTierService.coldHorizon())).isZero();
+        assertThat(transactionTierService.moveBatch(40)).isZero();
+    }
+
+    @Test
+    void pagesRunAcrossTheHorizonInOrderAndCoverEveryRowOnce() {
+        List<Transaction> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            TransactionPage page = transactionService.getTransactionsByUserName(owner.email(), cursor, 13);
+            walked.addAll(page.getTransactions());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(walked).extracting(Transaction::getId).doesNotHaveDuplicates();
+        assertThat(new HashSet<>(walked.stream().map(Transaction::getId).toList())).isEqualTo(allIds());
+        assertThat(walked).isSortedAccordingTo(Comparator.comparing(Transaction::getDateTime)
+                .thenComparing(Transaction::getId).reversed());
+    }
+
+    @Test
+    void listsAndTotalsCombineBothTiers() {
+        assertThat(transactionService.getTransactionsByUserName(owner.email())).hasSize(allIds().size());
+
+        Account account = accountRepository.findAllByUser(user).get(0);
+        long inAccount = jdbcTemplate.queryForObject(
+                "SELECT (SELECT COUNT(*) FROM transactions WHERE account_account_id = ? AND deleted = false)"
+                        + " + (SELECT COUNT(*) FROM transactions_cold WHERE account_account_id = ?)",
+                Long.class, account.getAccountId(), account.getAccountId());
+        assertThat(transactionService.getTransactionsByAccount(owner.email(), account)).hasSize((int) inAccount);
+
+        Category food = categoryRepository.findAllByUserId(user).stream()
+                .filter(category -> category.getName().equals("Food"))
+                .findFirst()
+                .orElseThrow();
+        long inFood = jdbcTemplate.queryForObject(
+                "SELECT (SELECT COUNT(*) FROM transactions WHERE category_category_id = ? AND deleted = false)"
+                        + " + (SELECT COUNT(*) FROM transactions_cold WHERE category_category_id = ?)",
+                Long.class, food.getCategoryId(), food.getCategoryId());
+        CategoryDrillDown drillDown = categoryService.getCategoryDrillDown(owner.email(), food.getCategoryId(),
+                EpochRange.of(LocalDate.now().minusDays(400), LocalDate.now().plusDays(1)), null, 5);
+        assertThat(drillDown.totals().count()).isEqualTo(inFood);
+    }
+
+    @Test
+    void exportListsColdRowsBeforeLiveOnesInDateOrder() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transactionExportService.export(owner.email(), TransactionExportService.Format.CSV, null, null, null, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().skip(1).toList();
+        assertThat(lines).hasSize(allIds().size());
+        assertThat(lines.stream().map(line -> Long.parseLong(line.split(",")[1])).toList())
+                .isSorted();
+    }
+
+    @Test
+    void editingAColdRowKeepsItColdUntilItsDateMovesPastTheHorizon() {
+        List<Integer> cold = coldIds();
+        int stillOld = cold.get(0);
+        int movedUp = cold.get(1);
+
+        transactionService.updateTransaction(request(stillOld, "Edited while cold", null), stillOld, owner.email());
+        assertThat(coldIds()).contains(stillOld);
+        assertThat(transactionRepository.findById(stillOld)).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("SELECT description FROM transactions_cold WHERE id = ?",
+                String.class, stillOld)).isEqualTo("Edited while cold");
+
+        long now = System.currentTimeMillis();
+        transactionService.updateTransaction(request(movedUp, "Moved to today", now), movedUp, owner.email());
+        assertThat(coldIds()).doesNotContain(movedUp);
+        assertThat(transactionRepository.findById(movedUp)).get()
+                .extracting(Transaction::getDescription, Transaction::getDateTime)
+                .containsExactly("Moved to today", now);
+    }
+
+    @Test
+    void deletingAColdRowSoftDeletesItInTheLiveTable() {
+        int id = coldIds().get(coldIds().size() - 1);
+        assertThat(transactionService.hasTransaction(String.valueOf(id))).isTrue();
+        assertThat(transactionService.hasPermission(owner.email(), String.valueOf(id))).isTrue();
+
+        transactionService.deleteTransaction(id);
+
+        assertThat(coldIds()).doesNotContain(id);
+        assertThat(transactionRepository.findById(id)).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("SELECT deleted FROM transactions WHERE id = ?", Boolean.class, id))
+                .isTrue();
+        assertThat(transactionService.hasTransaction(String.valueOf(id))).isFalse();
+    }
+
+    @Test
+    void unknownIdsAreRejected() {
+        assertThatThrownBy(() -> transactionService.deleteTransaction(Integer.MAX_VALUE))
+                .isInstanceOf(NoSuchElementException.class);
+        assertThat(transactionTierService.thaw(Integer.MAX_VALUE)).isFalse();
+    }
+
+    private TransactionRequest request(int coldId, String description, Long dateTime) {
+        Object[] row = jdbcTemplate.queryForObject(
+                "SELECT amount, payment_type, category_category_id, account_account_id, date_time"
+                        + " FROM transactions_cold WHERE id = ?",
+                (rs, rowNum) -> new Object[]{rs.getDouble(1), rs.getString(2), rs.getInt(3), rs.getInt(4), rs.getLong(5)},
+                coldId);
+        TransactionRequest request = new TransactionRequest();
+        request.setAmount((Double) row[0]);
+        request.setDescription(description);
+        request.setPaymentType((String) row[1]);
+        request.setCategoryId((Integer) row[2]);
+        request.setAccountId((Integer) row[3]);
+        request.setDateTime(dateTime != null ? dateTime : (Long) row[4]);
+        return request;
+    }
+
+    private List<Integer> coldIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM transactions_cold WHERE user_id = ? ORDER BY id",
+                Integer.class, owner.userId());
+    }
+
+    private Set<Integer> allIds() {
+        Set<Integer> ids = new HashSet<>(coldIds());
+        ids.addAll(jdbcTemplate.queryForList("SELECT id FROM transactions WHERE user_id = ? AND deleted = false",
+                Integer.class, owner.userId()));
+        return ids;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.personalfinance.service;
+
+import com.example.personalfinance.entity.User;
+import com.example.personalfinance.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("embedded")
+class UserIdentityCacheTests {
+    @Autowired
+    private UserIdentityService userIdentityService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void repeatedLookupsHitTheCache() {
+        String email = newUser("Cached").getEmail();
+        userIdentityService.findByEmail(email);
+        long hits = userIdentityService.stats().hitCount();
+
+        userIdentityService.findByEmail(email);
+
+        assertThat(userIdentityService.stats().hitCount()).isEqualTo(hits + 1);
+    }
+
+    @Test
+    void updatesAreEvictedOnlyOnceCommitted() {
+        User user = newUser("Before");
+        String email = user.getEmail();
+        assertThat(userIdentityService.findByEmail(email).firstName()).isEqualTo("Before");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            User managed = userRepository.findById(user.getUserId()).orElseThrow();
+            managed.setFirstName("After");
+            userRepository.flush();
+            // @PostUpdate has fired, but the row is not committed yet
+            assertThat(userIdentityService.findByEmail(email).firstName()).isEqualTo("Before");
+        });
+
+        assertThat(userIdentityService.findByEmail(email).firstName()).isEqualTo("After");
+    }
+
+    private User newUser(String firstName) {
+        User user = new User();
+        user.setEmail("identity-" + UUID.randomUUID() + "@example.com");
+        user.setFirstName(firstName);
+        user.setLastName("Test");
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.personalfinance.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Remembers the SQL Hibernate prepares on the current thread, so a test can look at exactly what a repository
+// method sent. Register it with spring.jpa.properties.hibernate.session_factory.statement_inspector.
+public class CapturingStatementInspector implements StatementInspector {
+    private static final ThreadLocal<List<String>> CAPTURED = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(String sql) {
+        CAPTURED.get().add(sql);
+        return sql;
+    }
+
+    public static List<String> capture(Runnable call) {
+        CAPTURED.get().clear();
+        try {
+            call.run();
+            return List.copyOf(CAPTURED.get());
+        } finally {
+            CAPTURED.remove();
+        }
+    }
+}
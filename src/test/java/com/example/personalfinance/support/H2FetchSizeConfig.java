@@ -0,0 +1,61 @@
+package com.example.personalfinance.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+// The streaming repository methods ask for fetch size Integer.MIN_VALUE, which is how MySQL Connector/J streams
+// rows. H2 rejects negative fetch sizes, so embedded runs drop that request and let H2 use its default.
+@Configuration
+@Profile("embedded")
+public class H2FetchSizeConfig {
+
+    @Bean
+    public static BeanPostProcessor h2FetchSizePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? wrap(DataSource.class, dataSource) : bean;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T wrap(Class<T> type, T target) {
+        return (T) Proxy.newProxyInstance(H2FetchSizeConfig.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (target instanceof Statement && method.getName().equals("setFetchSize") && (int) args[0] < 0) {
+                        return null;
+                    }
+                    Object result = invoke(target, method, args);
+                    if (result instanceof CallableStatement statement) {
+                        return wrap(CallableStatement.class, statement);
+                    }
+                    if (result instanceof PreparedStatement statement) {
+                        return wrap(PreparedStatement.class, statement);
+                    }
+                    if (result instanceof Statement statement) {
+                        return wrap(Statement.class, statement);
+                    }
+                    return result instanceof Connection connection ? wrap(Connection.class, connection) : result;
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
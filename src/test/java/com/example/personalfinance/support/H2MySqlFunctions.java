@@ -0,0 +1,39 @@
+package com.example.personalfinance.support;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+// Java bodies for the H2 aliases in db/h2-mysql-functions.sql
+public final class H2MySqlFunctions {
+    private static final DateTimeFormatter SQL_TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private H2MySqlFunctions() {
+    }
+
+    // Supports the specifiers the repositories use: %Y %m %d %H %i %s
+    public static String dateFormat(String value, String format) {
+        if (value == null) {
+            return null;
+        }
+        LocalDateTime time = LocalDateTime.parse(value.length() > 19 ? value.substring(0, 19) : value, SQL_TIMESTAMP);
+        StringBuilder out = new StringBuilder(format.length() + 8);
+        for (int i = 0; i < format.length(); i++) {
+            char c = format.charAt(i);
+            if (c != '%' || i + 1 == format.length()) {
+                out.append(c);
+                continue;
+            }
+            char specifier = format.charAt(++i);
+            switch (specifier) {
+                case 'Y' -> out.append(time.getYear());
+                case 'm' -> out.append(String.format("%02d", time.getMonthValue()));
+                case 'd' -> out.append(String.format("%02d", time.getDayOfMonth()));
+                case 'H' -> out.append(String.format("%02d", time.getHour()));
+                case 'i' -> out.append(String.format("%02d", time.getMinute()));
+                case 's' -> out.append(String.format("%02d", time.getSecond()));
+                default -> out.append(specifier);
+            }
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.personalfinance.support;
+
+import com.example.personalfinance.config.sql.SqlStats;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+// Counts the SQL statements a call runs, including work it hands to SqlStats-propagating executors.
+// Needs sql.accounting.enabled=true in the test context.
+public final class QueryCountAssertions {
+    private QueryCountAssertions() {
+    }
+
+    public static <T> T assertMaxQueries(int max, ThrowingSupplier<T> call) {
+        assertTrue(SqlStats.installed(), "SQL accounting is not enabled in this context");
+        try (SqlStats.Scope scope = SqlStats.open()) {
+            T result;
+            try {
+                result = call.get();
+            } catch (Throwable e) {
+                return fail(e);
+            }
+            long statements = scope.stats().statements();
+            assertTrue(statements <= max, "Expected at most " + max + " SQL statements but ran " + statements);
+            return result;
+        }
+    }
+
+    public static void assertMaxQueries(int max, Executable call) {
+        assertMaxQueries(max, () -> {
+            call.execute();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.personalfinance.support;
+
+import com.example.personalfinance.entity.Account;
+import com.example.personalfinance.entity.Budget;
+import com.example.personalfinance.entity.Category;
+import com.example.personalfinance.entity.Debt;
+import com.example.personalfinance.entity.Transaction;
+import com.example.personalfinance.entity.User;
+import com.example.personalfinance.repository.AccountRepository;
+import com.example.personalfinance.repository.BudgetRepository;
+import com.example.personalfinance.repository.CategoryRepository;
+import com.example.personalfinance.repository.DebtRepository;
+import com.example.personalfinance.repository.TransactionRepository;
+import com.example.personalfinance.repository.UserRepository;
+import com.example.personalfinance.service.BudgetService;
+import com.example.personalfinance.service.RollupService;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+// Seeds users x accounts x transactions through the repositories, then rebuilds the derived
+// rollups and budget counters so reads behave as they would on a live database.
+// Deterministic for a given seed; emails carry a per-run prefix so several tests can share one database.
+@RequiredArgsConstructor
+public class SyntheticDataGenerator {
+    private static final String[] EXPENSE_CATEGORIES = {"Food", "Rent", "Transport", "Utilities", "Shopping",
+            "Health", "Entertainment", "Education", "Travel", "Subscriptions"};
+    private static final String[] INCOME_CATEGORIES = {"Salary", "Bonus", "Interest", "Freelance"};
+    private static final String[] PAYMENT_TYPES = {"Cash", "Debit Card", "Credit Card", "Bank Transfer"};
+    private static final int SAVE_CHUNK = 1_000;
+    private static final int HISTORY_DAYS = 365;
+
+    private final UserRepository userRepository;
+    private final AccountRepository accountRepository;
+    private final CategoryRepository categoryRepository;
+    private final TransactionRepository transactionRepository;
+    private final BudgetRepository budgetRepository;
+    private final DebtRepository debtRepository;
+    private final RollupService rollupService;
+    private final BudgetService budgetService;
+
+    public record SeededUser(int userId, String email) {
+    }
+
+    public List<SeededUser> seed(long seed, int users, int accountsPerUser, int transactionsPerAccount) {
+        SplittableRandom random = new SplittableRandom(seed);
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        List<SeededUser> seeded = new ArrayList<>(users);
+        for (int u = 0; u < users; u++) {
+            User user = new User();
+            user.setEmail("synthetic-" + run + "-" + u + "@example.com");
+            user.setFirstName("Synthetic");
+            user.setLastName("User " + u);
+            userRepository.save(user);
+
+            List<Category> expenses = new ArrayList<>();
+            List<Category> income = new ArrayList<>();
+            for (String name : EXPENSE_CATEGORIES) {
+                expenses.add(category(user, name, "expense"));
+            }
+            for (String name : INCOME_CATEGORIES) {
+                income.add(category(user, name, "income"));
+            }
+            categoryRepository.saveAll(expenses);
+            categoryRepository.saveAll(income);
+
+            List<Transaction> chunk = new ArrayList<>(SAVE_CHUNK);
+            for (int a = 0; a < accountsPerUser; a++) {
+                Account account = new Account();
+                account.setName("Account " + (a + 1));
+                account.setCurrentBalance(1_000 + random.nextInt(50_000));
+                account.setPaymentTypes(List.of(PAYMENT_TYPES));
+                account.setUser(user);
+                accountRepository.save(account);
+
+                for (int t = 0; t < transactionsPerAccount; t++) {
+                    chunk.add(transaction(random, user, account, expenses, income));
+                    if (chunk.size() == SAVE_CHUNK) {
+                        transactionRepository.saveAll(chunk);
+                        chunk.clear();
+                    }
+                }
+            }
+            transactionRepository.saveAll(chunk);
+
+            // Budgets on the first few expense categories, debts spread over the next two months
+            for (int b = 0; b < 3; b++) {
+                Budget budget = new Budget();
+                budget.setUser(user);
+                budget.setCategory(expenses.get(b));
+                budget.setAmount(500 + random.nextInt(2_000));
+                budget.setUsed(0.0);
+                budget.setBalance(budget.getAmount());
+                budgetRepository.save(budget);
+            }
+            for (int d = 0; d < 5; d++) {
+                Debt debt = new Debt();
+                debt.setUser(user);
+                debt.setAmount(50 + random.nextInt(5_000));
+                debt.setDueDate(LocalDate.now().plusDays(random.nextInt(60)));
+                debt.setMoneyFrom("Lender " + d);
+                debt.setStatus("pending");
+                debtRepository.save(debt);
+            }
+
+            rollupService.rebuild(user.getUserId());
+            seeded.add(new SeededUser(user.getUserId(), user.getEmail()));
+        }
+        budgetService.refreshCurrentPeriod();
+        return seeded;
+    }
+
+    private static Category category(User user, String name, String type) {
+        Category category = new Category();
+        category.setName(name);
+        category.setType(type);
+        category.setUserId(user);
+        return category;
+    }
+
+    // One income in ten; expenses are mostly small with a long tail, and recent days are denser than old ones
+    private static Transaction transaction(SplittableRandom random, User user, Account account,
+                                           List<Category> expenses, List<Category> income) {
+        boolean isIncome = random.nextInt(10) == 0;
+        Category category = isIncome
+                ? income.get(random.nextInt(income.size()))
+                : expenses.get(Math.min(random.nextInt(expenses.size()), random.nextInt(expenses.size())));
+        double amount = isIncome
+                ? 1_000 + random.nextInt(4_000)
+                : Math.round(Math.exp(2 + random.nextDouble() * 4) * 100) / 100.0;
+        double skew = random.nextDouble();
+        int daysAgo = (int) (skew * skew * HISTORY_DAYS);
+        long dateTime = LocalDate.now().minusDays(daysAgo).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                + random.nextLong(24L * 60 * 60 * 1000);
+        return new Transaction(amount, category.getName() + " payment",
+                PAYMENT_TYPES[random.nextInt(PAYMENT_TYPES.length)], dateTime, category, account, user);
+    }
+}
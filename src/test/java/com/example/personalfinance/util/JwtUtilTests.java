@@ -0,0 +1,77 @@
+package com.example.personalfinance.util;
+
+import com.example.personalfinance.config.auth.JWTAuthFilter;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtUtilTests {
+    private static final String SECRET = "jwt-util-tests-secret-at-least-32-bytes";
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void verifiesOnceAndServesRepeatsFromTheCache() {
+        JwtUtil jwtUtil = jwtUtil(SECRET, 86400000L);
+        String token = jwtUtil.generateToken("user@example.com");
+
+        JwtUtil.VerifiedToken first = jwtUtil.verify(token);
+
+        assertThat(first.subject()).isEqualTo("user@example.com");
+        assertThat(first.expiration()).isInTheFuture();
+        assertThat(jwtUtil.verify(token)).isSameAs(first);
+        assertThat(jwtUtil.extractUsername(token)).isEqualTo("user@example.com");
+    }
+
+    @Test
+    void tokensSignedWithAnotherKeyAreRejected() {
+        String token = jwtUtil("another-secret-that-is-also-32-bytes-long", 86400000L).generateToken("user@example.com");
+
+        assertThatThrownBy(() -> jwtUtil(SECRET, 86400000L).verify(token)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void cachedTokensStopVerifyingAtTheirOwnExpiry() throws Exception {
+        JwtUtil jwtUtil = jwtUtil(SECRET, 1500L);
+        String token = jwtUtil.generateToken("user@example.com");
+        JwtUtil.VerifiedToken verified = jwtUtil.verify(token);
+
+        Thread.sleep(Math.max(0, verified.expiration().getTime() - System.currentTimeMillis()) + 100);
+
+        assertThatThrownBy(() -> jwtUtil.verify(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    void filterLeavesInvalidTokensUnauthenticated() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer not-a-jwt");
+        MockFilterChain chain = new MockFilterChain();
+
+        new JWTAuthFilter(jwtUtil(SECRET, 86400000L)).doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    private static JwtUtil jwtUtil(String secret, long expiration) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", secret);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", expiration);
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaximumSize", 100L);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+        return jwtUtil;
+    }
+}
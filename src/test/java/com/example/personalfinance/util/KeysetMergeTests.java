@@ -0,0 +1,44 @@
+package com.example.personalfinance.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeysetMergeTests {
+    private record Row(long dateTime, int id) {
+    }
+
+    @Test
+    void interleavesByDateThenIdDescending() {
+        List<Row> hot = List.of(new Row(50, 9), new Row(40, 7), new Row(40, 3), new Row(10, 2));
+        List<Row> cold = List.of(new Row(45, 1), new Row(40, 5), new Row(20, 8));
+
+        assertThat(merge(hot, cold, 10)).containsExactly(new Row(50, 9), new Row(45, 1), new Row(40, 7), new Row(40, 5),
+                new Row(40, 3), new Row(20, 8), new Row(10, 2));
+    }
+
+    @Test
+    void stopsAtTheLimit() {
+        List<Row> hot = List.of(new Row(30, 3), new Row(10, 1));
+        List<Row> cold = List.of(new Row(20, 2), new Row(5, 4));
+
+        assertThat(merge(hot, cold, 2)).containsExactly(new Row(30, 3), new Row(20, 2));
+        assertThat(merge(hot, List.of(), 1)).containsExactly(new Row(30, 3));
+        assertThat(merge(List.of(), cold, 5)).containsExactly(new Row(20, 2), new Row(5, 4));
+    }
+
+    @Test
+    void exhaustedSideLetsTheOtherRunOut() {
+        List<Row> hot = List.of(new Row(100, 1));
+        List<Row> cold = List.of(new Row(90, 2), new Row(80, 3), new Row(70, 4));
+
+        assertThat(merge(hot, cold, 4)).containsExactly(new Row(100, 1), new Row(90, 2), new Row(80, 3), new Row(70, 4));
+        assertThat(merge(cold, hot, 4)).containsExactly(new Row(100, 1), new Row(90, 2), new Row(80, 3), new Row(70, 4));
+    }
+
+    private static List<Row> merge(List<Row> first, List<Row> second, int limit) {
+        return KeysetMerge.mergeDescending(first, second, Row::dateTime, Row::id, limit);
+    }
+}
@@ -0,0 +1,2 @@
+-- MySQL functions used by native queries that H2's MySQL mode does not provide
+CREATE ALIAS IF NOT EXISTS DATE_FORMAT FOR 'com.example.personalfinance.support.H2MySqlFunctions.dateFormat';